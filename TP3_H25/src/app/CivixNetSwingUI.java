@@ -1,6 +1,7 @@
 package app;
 
 import reseau.CivixNet;
+import reseau.GrapheCompact;
 import reseau.ReseauBuilder;
 import reseau.Utilisateur;
 
@@ -8,83 +9,229 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import java.util.*;
 
 /**
  * Cette classe représente l'interface utilisateur graphique pour afficher le réseau social CivixNet
  * avec des utilisateurs sous forme de nœuds et leurs connexions sous forme de flèches unidirectionnelles.
  * Elle hérite de JPanel et gère l'affichage du réseau, le positionnement des nœuds, les connexions, et l'interaction avec l'utilisateur.
+ * <p>
+ * Pour rester fluide sur de grands réseaux, les connexions sont dessinées une seule fois dans une image
+ * mise en cache (reconstruite seulement à la fin d'un zoom ou d'un déplacement, ou après un redimensionnement ;
+ * pendant un zoom, la couche existante est simplement agrandie ou réduite),
+ * les nœuds hors de la zone visible sont ignorés grâce à un {@link IndexSpatial}, et les connexions sont
+ * regroupées en faisceaux lorsque la vue est dézoomée. Le graphe affiché est un instantané du réseau
+ * pris à la construction du panneau.
+ * </p>
  */
 public class CivixNetSwingUI extends JPanel {
 
-    private final CivixNet reseau;  // Réseau social contenant les utilisateurs et leurs abonnements
-    private final Map<Utilisateur, Point> positions;  // Cartographie des utilisateurs et leurs positions sur le panneau
-    private Utilisateur utilisateurSelectionne = null;  // Utilisateur actuellement sélectionné par l'utilisateur
+    private static final Font POLICE = new Font("Arial", Font.PLAIN, 14);  // Police partagée par tous les dessins
+    private static final int RAYON = 30;  // Rayon d'un nœud, en coordonnées du monde
+    private static final double ECHELLE_DETAILS = 0.5;  // Sous cette échelle : faisceaux et nœuds simplifiés
+    private static final int TAILLE_FAISCEAU = 24;  // Taille (en pixels) des cellules qui regroupent les connexions
+    private static final long DELAI_PUBLICATION = 100;  // Délai minimal (ms) entre deux publications de la mise en page
+    private static final long DELAI_COUCHE = 500;  // Délai minimal (ms) entre deux reconstructions de la couche pendant la mise en page
+    private static final int DELAI_FIN_ZOOM = 150;  // Inactivité (ms) de la molette après laquelle la couche est reconstruite
+
+    private final GrapheCompact graphe;  // Instantané compact du réseau utilisé pour le dessin
+    private final GrapheCompact abonnes;  // Graphe transposé : abonnés de chaque utilisateur
+    private final float[] xs;  // Abscisses des utilisateurs (indexées par identifiant du graphe compact)
+    private final float[] ys;  // Ordonnées des utilisateurs
+    private final MiseEnPage miseEnPage;  // Moteur de mise en page des utilisateurs
+    private IndexSpatial index;  // Index spatial des positions, pour la sélection et l'élagage
+    private int utilisateurSelectionne = -1;  // Identifiant de l'utilisateur sélectionné (-1 si aucun)
+
+    private double echelle = 1.0;  // Facteur de zoom
+    private double decalageX = 0;  // Translation de la vue, en pixels
+    private double decalageY = 0;
+    private BufferedImage coucheConnexions;  // Couche des connexions mise en cache
+    private double coucheEchelle;  // Échelle et translation au moment où la couche a été dessinée
+    private double coucheDecalageX;
+    private double coucheDecalageY;
+    private long derniereReconstruction;  // Instant (ms) de la dernière reconstruction de la couche
+    private Point debutGlissement;  // Dernière position de la souris pendant un déplacement de la vue
+    private SwingWorker<Void, float[][]> travailMiseEnPage;  // Calcul de la mise en page en arrière-plan
+    private final javax.swing.Timer finZoom;  // Reconstruit la couche une fois la molette au repos
 
     /**
-     * Constructeur de la classe CivixNetSwingUI.
+     * Constructeur de la classe CivixNetSwingUI, avec une mise en page par forces.
      * @param reseau Le réseau social à afficher.
      */
     public CivixNetSwingUI(CivixNet reseau) {
-        this.reseau = reseau;
-        this.positions = new HashMap<>();
+        this(reseau, new MiseEnPageForces());
+    }
+
+    /**
+     * Constructeur de la classe CivixNetSwingUI.
+     * Les positions de départ sont calculées immédiatement, puis les itérations de la mise en page
+     * s'exécutent sur un fil d'arrière-plan et sont publiées progressivement à l'interface.
+     * @param reseau Le réseau social à afficher.
+     * @param miseEnPage Le moteur de mise en page des utilisateurs.
+     */
+    public CivixNetSwingUI(CivixNet reseau, MiseEnPage miseEnPage) {
+        this.graphe = GrapheCompact.depuis(reseau);
+        this.abonnes = graphe.transpose();
+        this.xs = new float[graphe.nombreSommets()];
+        this.ys = new float[graphe.nombreSommets()];
+        this.miseEnPage = miseEnPage;
         this.setPreferredSize(new Dimension(800, 600));  // Taille préférée du panneau
-        genererPositionsEnCercle();  // Générer une disposition des utilisateurs en cercle
+        miseEnPage.initialiser(graphe, xs, ys, getPreferredSize().width, getPreferredSize().height);
+        this.index = new IndexSpatial(xs, ys, xs.length, 2 * RAYON);
+        this.finZoom = new javax.swing.Timer(DELAI_FIN_ZOOM, e -> {
+            coucheConnexions = null;  // Connexions redessinées à la nouvelle échelle
+            repaint();
+        });
+        finZoom.setRepeats(false);
         setupMouseListener();  // Ajouter un écouteur pour la sélection d'utilisateur
+        demarrerMiseEnPage();
     }
 
     /**
-     * Génère une disposition circulaire pour les utilisateurs afin qu'ils soient répartis uniformément sur le panneau.
+     * Lance les itérations de la mise en page sur un fil d'arrière-plan.
+     * Le calcul travaille sur une copie des positions ; au plus toutes les {@link #DELAI_PUBLICATION} ms,
+     * un instantané est publié au fil de Swing, qui remplace les positions affichées, reconstruit
+     * l'index spatial et redessine le panneau. La couche des connexions n'est reconstruite qu'au plus
+     * toutes les {@link #DELAI_COUCHE} ms pendant le calcul, puis une dernière fois à la fin.
      */
-    private void genererPositionsEnCercle() {
-        int centerX = getPreferredSize().width / 2;
-        int centerY = getPreferredSize().height / 2;
-        int radius = 250;  // Rayon du cercle
-        int total = reseau.getUtilisateurs().size();
-        int index = 0;
+    private void demarrerMiseEnPage() {
+        float[] calculX = xs.clone();
+        float[] calculY = ys.clone();
 
-        // Positionner chaque utilisateur sur le cercle
-        for (Utilisateur u : reseau.getUtilisateurs().keySet()) {
-            double angle = 2 * Math.PI * index / total;
-            int x = (int) (centerX + radius * Math.cos(angle));
-            int y = (int) (centerY + radius * Math.sin(angle));
-            positions.put(u, new Point(x, y));
-            index++;
+        travailMiseEnPage = new SwingWorker<Void, float[][]>() {
+            @Override
+            protected Void doInBackground() {
+                long dernierePublication = System.currentTimeMillis();
+                boolean continuer = true;
+                while (continuer && !isCancelled()) {
+                    synchronized (miseEnPage) {  // Un calcul interrompu peut finir son itération
+                        continuer = miseEnPage.iterer(graphe, calculX, calculY);
+                    }
+                    long maintenant = System.currentTimeMillis();
+                    if (!continuer || maintenant - dernierePublication >= DELAI_PUBLICATION) {
+                        publish(new float[][]{calculX.clone(), calculY.clone()});
+                        dernierePublication = maintenant;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            protected void process(java.util.List<float[][]> instantanes) {
+                if (isCancelled()) {
+                    return;
+                }
+                // Seul l'instantané le plus récent est utile
+                float[][] positions = instantanes.get(instantanes.size() - 1);
+                System.arraycopy(positions[0], 0, xs, 0, xs.length);
+                System.arraycopy(positions[1], 0, ys, 0, ys.length);
+                index = new IndexSpatial(xs, ys, xs.length, 2 * RAYON);
+                if (System.currentTimeMillis() - derniereReconstruction >= DELAI_COUCHE) {
+                    coucheConnexions = null;
+                }
+                repaint();
+            }
+
+            @Override
+            protected void done() {
+                if (!isCancelled()) {
+                    coucheConnexions = null;  // Connexions à leurs positions finales
+                    repaint();
+                }
+            }
+        };
+        travailMiseEnPage.execute();
+    }
+
+    /**
+     * Reprend la mise en page interrompue lorsque le panneau est de nouveau ajouté à un conteneur.
+     * Le calcul repart des positions affichées.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (travailMiseEnPage.isCancelled()) {
+            demarrerMiseEnPage();
         }
     }
 
     /**
-     * Configure un écouteur de souris pour gérer les clics sur les utilisateurs.
+     * Interrompt la mise en page en cours lorsque le panneau est retiré de son conteneur.
+     */
+    @Override
+    public void removeNotify() {
+        travailMiseEnPage.cancel(false);
+        finZoom.stop();
+        super.removeNotify();
+    }
+
+    /**
+     * Configure les écouteurs de souris : clic pour sélectionner un utilisateur, glissement pour
+     * déplacer la vue et molette pour zoomer autour du curseur.
      * Lorsqu'un utilisateur est sélectionné, les informations le concernant sont affichées.
      */
     private void setupMouseListener() {
-        this.addMouseListener(new MouseAdapter() {
+        MouseAdapter adaptateur = new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
-                for (Map.Entry<Utilisateur, Point> entry : positions.entrySet()) {
-                    Point p = entry.getValue();
-                    if (p.distance(e.getPoint()) < 30) {  // Si l'utilisateur est cliqué (distance au centre < 30)
-                        utilisateurSelectionne = entry.getKey();
-                        repaint();  // Repeindre le panneau avec l'utilisateur sélectionné
-                        return;
-                    }
+                // Recherche dans l'index spatial plutôt que sur toutes les positions
+                float x = (float) ((e.getX() - decalageX) / echelle);
+                float y = (float) ((e.getY() - decalageY) / echelle);
+                utilisateurSelectionne = index.plusProche(x, y, RAYON);
+                repaint();  // Repeindre le panneau avec ou sans sélection
+            }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                debutGlissement = e.getPoint();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (debutGlissement == null) {
+                    return;
                 }
-                utilisateurSelectionne = null;  // Aucune sélection
-                repaint();  // Repeindre sans sélection
+                decalageX += e.getX() - debutGlissement.x;
+                decalageY += e.getY() - debutGlissement.y;
+                debutGlissement = e.getPoint();
+                repaint();  // La couche en cache est simplement translatée
             }
-        });
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                if (debutGlissement != null && (decalageX != coucheDecalageX || decalageY != coucheDecalageY)) {
+                    coucheConnexions = null;  // Redessiner les connexions devenues visibles
+                    repaint();
+                }
+                debutGlissement = null;
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                double facteur = Math.pow(1.1, -e.getPreciseWheelRotation());
+                decalageX = e.getX() - (e.getX() - decalageX) * facteur;
+                decalageY = e.getY() - (e.getY() - decalageY) * facteur;
+                echelle *= facteur;
+                finZoom.restart();  // La couche en cache est mise à l'échelle jusqu'à la fin du zoom
+                repaint();
+            }
+        };
+        this.addMouseListener(adaptateur);
+        this.addMouseMotionListener(adaptateur);
+        this.addMouseWheelListener(adaptateur);
     }
 
     /**
      * Fonction qui détermine le symbole de la direction d'une connexion.
-     * @param from Point de départ de la connexion.
-     * @param to Point d'arrivée de la connexion.
+     * @param dx Déplacement horizontal du départ vers l'arrivée de la connexion.
+     * @param dy Déplacement vertical du départ vers l'arrivée de la connexion.
      * @param isBidirectional Indique si la connexion est bidirectionnelle.
      * @return Un symbole de direction sous forme de chaîne ("^", "v", "<", ">").
      */
-    private String getDirectionSymbol(Point from, Point to, boolean isBidirectional) {
-        int dx = to.x - from.x;
-        int dy = to.y - from.y;
+    private static String getDirectionSymbol(int dx, int dy, boolean isBidirectional) {
 
         if (Math.abs(dx) > Math.abs(dy)) {
             // Connexion horizontale
@@ -114,48 +261,180 @@ public class CivixNetSwingUI extends JPanel {
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
+        g2d.setFont(POLICE);
 
-        // Dessiner les connexions
-        for (Map.Entry<Utilisateur, Set<Utilisateur>> entry : reseau.getUtilisateurs().entrySet()) {
-            Utilisateur from = entry.getKey();
-            Point fromP = positions.get(from);
-            for (Utilisateur to : entry.getValue()) {
-                Point toP = positions.get(to);
+        // Dessiner les connexions à partir de la couche en cache
+        if (coucheConnexions == null || coucheConnexions.getWidth() != getWidth()
+                || coucheConnexions.getHeight() != getHeight()) {
+            dessinerCoucheConnexions();
+        }
+        if (coucheEchelle == echelle) {
+            g2d.drawImage(coucheConnexions, (int) (decalageX - coucheDecalageX), (int) (decalageY - coucheDecalageY), null);
+        } else {
+            // Zoom en cours : la couche est transformée vers la vue courante en attendant sa reconstruction
+            double rapport = echelle / coucheEchelle;
+            g2d.drawImage(coucheConnexions, new AffineTransform(rapport, 0, 0, rapport,
+                    decalageX - coucheDecalageX * rapport, decalageY - coucheDecalageY * rapport), null);
+        }
 
-                // Vérifier si la connexion est bidirectionnelle
-                boolean isBidirectional = reseau.abonnementMutuel(to, from);
+        // Dessiner les utilisateurs visibles
+        boolean details = echelle >= ECHELLE_DETAILS;
+        int rayon = Math.max(2, (int) (RAYON * echelle));
+        index.visiter(versMondeX(-rayon), versMondeY(-rayon), versMondeX(getWidth() + rayon), versMondeY(getHeight() + rayon), i -> {
+            int x = versEcranX(xs[i]);
+            int y = versEcranY(ys[i]);
+            g2d.setColor(i == utilisateurSelectionne ? Color.ORANGE : Color.CYAN);
+            g2d.fillOval(x - rayon, y - rayon, 2 * rayon, 2 * rayon);
+            if (details) {
+                g2d.setColor(Color.BLACK);
+                g2d.drawOval(x - rayon, y - rayon, 2 * rayon, 2 * rayon);
+                g2d.drawString(graphe.utilisateur(i).getUsername(), x - 20, y + 5);
+            }
+        });
 
-                // Dessiner la ligne de connexion
-                g2d.setColor(Color.GRAY);
-                g2d.drawLine(fromP.x, fromP.y, toP.x, toP.y);
+        // Infos sur l'utilisateur sélectionné
+        if (utilisateurSelectionne >= 0) {
+            Utilisateur u = graphe.utilisateur(utilisateurSelectionne);
+            g2d.setColor(Color.BLACK);
+            g2d.drawString("Utilisateur : " + u.getUsername(), 20, 20);
+            g2d.drawString("Mot de passe : " + u.getPassword(), 20, 40);
+        }
+    }
 
-                // Ajouter un symbole pour indiquer la direction de la connexion
-                String symbol = getDirectionSymbol(fromP, toP, isBidirectional);
+    /**
+     * Dessine les connexions visibles dans une nouvelle couche en cache, pour l'échelle et la translation courantes.
+     * Les utilisateurs visibles sont trouvés avec l'index spatial ; une connexion entre deux utilisateurs
+     * hors de la vue n'est pas dessinée, même si elle la traverse.
+     * Lorsque la vue est dézoomée, les connexions dont les extrémités tombent dans les mêmes cellules d'écran
+     * sont regroupées en un seul faisceau dont l'épaisseur dépend du nombre de connexions.
+     */
+    private void dessinerCoucheConnexions() {
+        int largeur = Math.max(1, getWidth());
+        int hauteur = Math.max(1, getHeight());
+        coucheConnexions = new BufferedImage(largeur, hauteur, BufferedImage.TYPE_INT_ARGB);
+        coucheEchelle = echelle;
+        coucheDecalageX = decalageX;
+        coucheDecalageY = decalageY;
+        derniereReconstruction = System.currentTimeMillis();
 
-                // Déplacer le symbole pour éviter le chevauchement
-                Font font = new Font("Arial", Font.PLAIN, 14);
-                g2d.setFont(font);
-                g2d.setColor(Color.RED);
-                g2d.drawString(symbol, (fromP.x + toP.x) / 2, (fromP.y + toP.y) / 2);
+        Graphics2D g2d = coucheConnexions.createGraphics();
+        g2d.setFont(POLICE);
+        boolean details = echelle >= ECHELLE_DETAILS;
+        Map<Long, int[]> faisceaux = details ? null : new HashMap<>();
+
+        // Seules les connexions touchant un utilisateur visible sont dessinées : les sorties de chaque
+        // utilisateur visible, et les entrées venant d'un utilisateur hors de la vue
+        float x0 = versMondeX(0), y0 = versMondeY(0);
+        float x1 = versMondeX(largeur), y1 = versMondeY(hauteur);
+        index.visiter(x0, y0, x1, y1, i -> {
+            if (!dansRectangle(i, x0, y0, x1, y1)) {
+                return;  // Cellule de bordure : nœud hors de la vue
             }
-        }
+            for (int k = graphe.debut(i); k < graphe.fin(i); k++) {
+                dessinerConnexion(g2d, faisceaux, i, graphe.cible(k));
+            }
+            for (int k = abonnes.debut(i); k < abonnes.fin(i); k++) {
+                int de = abonnes.cible(k);
+                if (!dansRectangle(de, x0, y0, x1, y1)) {
+                    dessinerConnexion(g2d, faisceaux, de, i);
+                }
+            }
+        });
 
-        // Dessiner les utilisateurs
-        for (Utilisateur u : reseau.getUtilisateurs().keySet()) {
-            Point p = positions.get(u);
-            g2d.setColor(u.equals(utilisateurSelectionne) ? Color.ORANGE : Color.CYAN);
-            g2d.fillOval(p.x - 30, p.y - 30, 60, 60);
-            g2d.setColor(Color.BLACK);
-            g2d.drawOval(p.x - 30, p.y - 30, 60, 60);
-            g2d.drawString(u.getUsername(), p.x - 20, p.y + 5);
+        if (faisceaux != null) {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            for (Map.Entry<Long, int[]> faisceau : faisceaux.entrySet()) {
+                long cle = faisceau.getKey();
+                int nombre = faisceau.getValue()[0];
+                int c1 = (int) (cle >> 32);
+                int c2 = (int) cle;
+                float epaisseur = (float) (1 + Math.log(nombre));
+                g2d.setStroke(new BasicStroke(epaisseur));
+                g2d.setColor(new Color(128, 128, 128, Math.min(255, 60 + 20 * nombre)));
+                g2d.drawLine(centreCellule((short) (c1 >> 16)), centreCellule((short) c1),
+                        centreCellule((short) (c2 >> 16)), centreCellule((short) c2));
+            }
         }
+        g2d.dispose();
+    }
 
-        // Infos sur l'utilisateur sélectionné
-        if (utilisateurSelectionne != null) {
-            g2d.setColor(Color.BLACK);
-            g2d.drawString("Utilisateur : " + utilisateurSelectionne.getUsername(), 20, 20);
-            g2d.drawString("Mot de passe : " + utilisateurSelectionne.getPassword(), 20, 40);
+    /**
+     * Dessine une connexion dans la couche, ou la compte dans son faisceau lorsque la vue est dézoomée.
+     */
+    private void dessinerConnexion(Graphics2D g2d, Map<Long, int[]> faisceaux, int de, int vers) {
+        int x1 = versEcranX(xs[de]);
+        int y1 = versEcranY(ys[de]);
+        int x2 = versEcranX(xs[vers]);
+        int y2 = versEcranY(ys[vers]);
+
+        if (faisceaux != null) {
+            long cle = ((long) cellule(x1, y1) << 32) | (cellule(x2, y2) & 0xFFFFFFFFL);
+            faisceaux.computeIfAbsent(cle, c -> new int[1])[0]++;
+            return;
         }
+
+        // Vérifier si la connexion est bidirectionnelle
+        boolean isBidirectional = graphe.suit(vers, de);
+
+        // Dessiner la ligne de connexion
+        g2d.setColor(Color.GRAY);
+        g2d.drawLine(x1, y1, x2, y2);
+
+        // Ajouter un symbole pour indiquer la direction de la connexion
+        String symbol = getDirectionSymbol(x2 - x1, y2 - y1, isBidirectional);
+        g2d.setColor(Color.RED);
+        g2d.drawString(symbol, (x1 + x2) / 2, (y1 + y2) / 2);
+    }
+
+    /**
+     * Indique si un utilisateur se trouve dans un rectangle du monde.
+     */
+    private boolean dansRectangle(int i, float x0, float y0, float x1, float y1) {
+        return xs[i] >= x0 && xs[i] <= x1 && ys[i] >= y0 && ys[i] <= y1;
+    }
+
+    /**
+     * Retourne la cellule de faisceau contenant un point de l'écran, codée sur 32 bits (colonne, ligne).
+     */
+    private static int cellule(int x, int y) {
+        int colonne = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.floorDiv(x, TAILLE_FAISCEAU)));
+        int ligne = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.floorDiv(y, TAILLE_FAISCEAU)));
+        return (colonne << 16) | (ligne & 0xFFFF);
+    }
+
+    /**
+     * Retourne la coordonnée d'écran du centre d'une colonne ou d'une ligne de faisceau.
+     */
+    private static int centreCellule(short rang) {
+        return rang * TAILLE_FAISCEAU + TAILLE_FAISCEAU / 2;
+    }
+
+    /**
+     * Convertit une abscisse du monde en abscisse d'écran.
+     */
+    private int versEcranX(float x) {
+        return (int) (x * echelle + decalageX);
+    }
+
+    /**
+     * Convertit une ordonnée du monde en ordonnée d'écran.
+     */
+    private int versEcranY(float y) {
+        return (int) (y * echelle + decalageY);
+    }
+
+    /**
+     * Convertit une abscisse d'écran en abscisse du monde.
+     */
+    private float versMondeX(int x) {
+        return (float) ((x - decalageX) / echelle);
+    }
+
+    /**
+     * Convertit une ordonnée d'écran en ordonnée du monde.
+     */
+    private float versMondeY(int y) {
+        return (float) ((y - decalageY) / echelle);
     }
 
     /**
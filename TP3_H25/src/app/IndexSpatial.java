@@ -0,0 +1,153 @@
+package app;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Index spatial en grille uniforme pour les positions des nœuds du graphe.
+ * <p>
+ * Les nœuds sont répartis dans des cellules carrées ; chaque cellule connaît la liste des
+ * identifiants qu'elle contient (stockée de façon contiguë dans des tableaux primitifs).
+ * Cela permet de trouver le nœud cliqué ou les nœuds visibles sans parcourir tout le graphe.
+ * L'index est immuable : il doit être reconstruit lorsque les positions changent.
+ * </p>
+ */
+public final class IndexSpatial {
+
+    private final float[] xs;        // Abscisses des nœuds (coordonnées du monde)
+    private final float[] ys;        // Ordonnées des nœuds
+    private final float minX;        // Coin supérieur gauche de la grille
+    private final float minY;
+    private final float largeurCellule;
+    private final float hauteurCellule;
+    private final int colonnes;
+    private final int lignes;
+    private final int[] debutsCellules;  // debutsCellules[c] = position du premier nœud de la cellule c
+    private final int[] noeuds;          // Identifiants des nœuds, regroupés par cellule
+
+    /**
+     * Construit l'index pour les {@code n} premières positions données.
+     *
+     * @param xs            les abscisses des nœuds
+     * @param ys            les ordonnées des nœuds
+     * @param n             le nombre de nœuds à indexer
+     * @param tailleCellule la largeur d'une cellule, dans les coordonnées du monde
+     */
+    public IndexSpatial(float[] xs, float[] ys, int n, float tailleCellule) {
+        this.xs = xs;
+        this.ys = ys;
+
+        float x0 = Float.POSITIVE_INFINITY, y0 = Float.POSITIVE_INFINITY;
+        float x1 = Float.NEGATIVE_INFINITY, y1 = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            x0 = Math.min(x0, xs[i]);
+            y0 = Math.min(y0, ys[i]);
+            x1 = Math.max(x1, xs[i]);
+            y1 = Math.max(y1, ys[i]);
+        }
+        if (n == 0) {
+            x0 = y0 = x1 = y1 = 0;
+        }
+        this.minX = x0;
+        this.minY = y0;
+        // Limiter la grille pour que sa taille reste proportionnelle au nombre de nœuds
+        int maxCellules = Math.max(1, 4 * n);
+        int c = (int) ((x1 - x0) / tailleCellule) + 1;
+        int l = (int) ((y1 - y0) / tailleCellule) + 1;
+        while ((long) c * l > maxCellules) {
+            c = (c + 1) / 2;
+            l = (l + 1) / 2;
+        }
+        this.colonnes = c;
+        this.lignes = l;
+        this.largeurCellule = Math.max(tailleCellule, (x1 - x0) / c);
+        this.hauteurCellule = Math.max(tailleCellule, (y1 - y0) / l);
+
+        // Tri par dénombrement des nœuds selon leur cellule
+        int nbCellules = colonnes * lignes;
+        this.debutsCellules = new int[nbCellules + 1];
+        int[] cellules = new int[n];
+        for (int i = 0; i < n; i++) {
+            cellules[i] = cellule(xs[i], ys[i]);
+            debutsCellules[cellules[i] + 1]++;
+        }
+        for (int k = 0; k < nbCellules; k++) {
+            debutsCellules[k + 1] += debutsCellules[k];
+        }
+        int[] curseurs = Arrays.copyOf(debutsCellules, nbCellules);
+        this.noeuds = new int[n];
+        for (int i = 0; i < n; i++) {
+            noeuds[curseurs[cellules[i]]++] = i;
+        }
+    }
+
+    /**
+     * Retourne la colonne correspondant à une abscisse, bornée à la grille.
+     */
+    private int colonne(float x) {
+        return Math.max(0, Math.min(colonnes - 1, (int) ((x - minX) / largeurCellule)));
+    }
+
+    /**
+     * Retourne la ligne correspondant à une ordonnée, bornée à la grille.
+     */
+    private int ligne(float y) {
+        return Math.max(0, Math.min(lignes - 1, (int) ((y - minY) / hauteurCellule)));
+    }
+
+    /**
+     * Retourne l'indice de la cellule contenant le point donné.
+     */
+    private int cellule(float x, float y) {
+        return ligne(y) * colonnes + colonne(x);
+    }
+
+    /**
+     * Appelle {@code action} pour chaque nœud dont la position se trouve dans le rectangle donné
+     * (coordonnées du monde, bornes incluses).
+     *
+     * @param x0     borne gauche
+     * @param y0     borne supérieure
+     * @param x1     borne droite
+     * @param y1     borne inférieure
+     * @param action l'action à appliquer à l'identifiant de chaque nœud visible
+     */
+    public void visiter(float x0, float y0, float x1, float y1, IntConsumer action) {
+        int c0 = colonne(x0), c1 = colonne(x1);
+        int l0 = ligne(y0), l1 = ligne(y1);
+        for (int l = l0; l <= l1; l++) {
+            for (int c = c0; c <= c1; c++) {
+                int cellule = l * colonnes + c;
+                for (int k = debutsCellules[cellule]; k < debutsCellules[cellule + 1]; k++) {
+                    int i = noeuds[k];
+                    if (xs[i] >= x0 && xs[i] <= x1 && ys[i] >= y0 && ys[i] <= y1) {
+                        action.accept(i);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Retourne le nœud le plus proche du point donné, à une distance d'au plus {@code rayon}.
+     *
+     * @param x     l'abscisse du point (coordonnées du monde)
+     * @param y     l'ordonnée du point
+     * @param rayon la distance maximale acceptée
+     * @return l'identifiant du nœud le plus proche, ou {@code -1} si aucun n'est assez proche
+     */
+    public int plusProche(float x, float y, float rayon) {
+        int[] meilleur = {-1};
+        float[] meilleureDistance = {rayon * rayon};
+        visiter(x - rayon, y - rayon, x + rayon, y + rayon, i -> {
+            float dx = xs[i] - x;
+            float dy = ys[i] - y;
+            float d = dx * dx + dy * dy;
+            if (d < meilleureDistance[0]) {
+                meilleureDistance[0] = d;
+                meilleur[0] = i;
+            }
+        });
+        return meilleur[0];
+    }
+}
@@ -0,0 +1,36 @@
+package app;
+
+import reseau.GrapheCompact;
+
+/**
+ * Moteur de mise en page du graphe affiché par {@link CivixNetSwingUI}.
+ * <p>
+ * Un moteur calcule la position de chaque utilisateur du {@link GrapheCompact} dans les tableaux
+ * {@code xs} et {@code ys} (indexés par identifiant de sommet). Il procède par itérations
+ * successives afin de pouvoir être exécuté sur un fil d'arrière-plan et publier des positions
+ * intermédiaires à l'interface.
+ * </p>
+ */
+public interface MiseEnPage {
+
+    /**
+     * Place les utilisateurs dans leur position de départ.
+     *
+     * @param graphe  le graphe à disposer
+     * @param xs      les abscisses à remplir
+     * @param ys      les ordonnées à remplir
+     * @param largeur la largeur de la zone d'affichage initiale
+     * @param hauteur la hauteur de la zone d'affichage initiale
+     */
+    void initialiser(GrapheCompact graphe, float[] xs, float[] ys, int largeur, int hauteur);
+
+    /**
+     * Effectue une itération de la mise en page en modifiant les positions.
+     *
+     * @param graphe le graphe à disposer
+     * @param xs     les abscisses courantes
+     * @param ys     les ordonnées courantes
+     * @return {@code true} si d'autres itérations peuvent encore améliorer la disposition
+     */
+    boolean iterer(GrapheCompact graphe, float[] xs, float[] ys);
+}
@@ -0,0 +1,53 @@
+package app;
+
+import reseau.GrapheCompact;
+
+/**
+ * Mise en page statique qui répartit uniformément les utilisateurs sur un cercle centré dans le panneau.
+ */
+public class MiseEnPageCercle implements MiseEnPage {
+
+    private final int rayon;  // Rayon du cercle
+
+    /**
+     * Constructeur par défaut, avec un rayon de 250.
+     */
+    public MiseEnPageCercle() {
+        this(250);
+    }
+
+    /**
+     * Constructeur avec un rayon donné.
+     *
+     * @param rayon le rayon du cercle
+     */
+    public MiseEnPageCercle(int rayon) {
+        this.rayon = rayon;
+    }
+
+    /**
+     * Positionne chaque utilisateur sur le cercle.
+     */
+    @Override
+    public void initialiser(GrapheCompact graphe, float[] xs, float[] ys, int largeur, int hauteur) {
+        int centerX = largeur / 2;
+        int centerY = hauteur / 2;
+        int total = graphe.nombreSommets();
+
+        for (int i = 0; i < total; i++) {
+            double angle = 2 * Math.PI * i / total;
+            xs[i] = (float) (centerX + rayon * Math.cos(angle));
+            ys[i] = (float) (centerY + rayon * Math.sin(angle));
+        }
+    }
+
+    /**
+     * La disposition en cercle est définitive : aucune itération n'est nécessaire.
+     *
+     * @return toujours {@code false}
+     */
+    @Override
+    public boolean iterer(GrapheCompact graphe, float[] xs, float[] ys) {
+        return false;
+    }
+}
@@ -0,0 +1,312 @@
+package app;
+
+import reseau.GrapheCompact;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Mise en page par forces (modèle de Fruchterman-Reingold) avec approximation de Barnes-Hut.
+ * <p>
+ * Les utilisateurs se repoussent tous mutuellement, les abonnements agissent comme des ressorts
+ * et une faible gravité ramène les composantes isolées vers le centre. La répulsion est approximée
+ * à l'aide d'un quadtree : un groupe de nœuds suffisamment éloigné est traité comme une seule masse
+ * placée à son barycentre, ce qui ramène le coût d'une itération à O(n log n).
+ * </p>
+ * <p>
+ * Le quadtree est stocké dans des tableaux primitifs réutilisés d'une itération à l'autre, et son
+ * parcours est itératif. Le calcul des forces est réparti sur tous les cœurs.
+ * </p>
+ */
+public class MiseEnPageForces implements MiseEnPage {
+
+    private static final float THETA = 0.8f;  // Critère d'ouverture de Barnes-Hut (taille / distance)
+    private static final float GRAVITE = 0.02f;  // Attraction vers le centre
+    private static final float REFROIDISSEMENT = 0.95f;  // Facteur de diminution de la température
+    private static final float TAILLE_MIN = 1e-3f;  // En dessous, les nœuds superposés sont regroupés
+
+    private final float distanceIdeale;  // Longueur visée pour un abonnement
+    private final int iterationsMax;
+    private float temperature;  // Déplacement maximal d'un nœud pendant une itération
+    private int iteration;
+    private float centreX;
+    private float centreY;
+    private float[] forcesX = new float[0];
+    private float[] forcesY = new float[0];
+    private final Quadtree arbre = new Quadtree();
+
+    /**
+     * Constructeur par défaut : distance idéale de 120 et au plus 300 itérations.
+     */
+    public MiseEnPageForces() {
+        this(120, 300);
+    }
+
+    /**
+     * Constructeur.
+     *
+     * @param distanceIdeale la longueur visée pour un abonnement
+     * @param iterationsMax  le nombre maximal d'itérations
+     */
+    public MiseEnPageForces(float distanceIdeale, int iterationsMax) {
+        this.distanceIdeale = distanceIdeale;
+        this.iterationsMax = iterationsMax;
+    }
+
+    /**
+     * Répartit les utilisateurs en spirale (angle d'or) autour du centre du panneau, ce qui donne
+     * une densité uniforme quel que soit le nombre d'utilisateurs.
+     */
+    @Override
+    public void initialiser(GrapheCompact graphe, float[] xs, float[] ys, int largeur, int hauteur) {
+        int n = graphe.nombreSommets();
+        double angleOr = Math.PI * (3 - Math.sqrt(5));
+        centreX = largeur / 2f;
+        centreY = hauteur / 2f;
+
+        for (int i = 0; i < n; i++) {
+            double r = distanceIdeale * Math.sqrt(i + 0.5) / 2;
+            xs[i] = (float) (centreX + r * Math.cos(i * angleOr));
+            ys[i] = (float) (centreY + r * Math.sin(i * angleOr));
+        }
+
+        temperature = distanceIdeale * (float) Math.sqrt(n + 1) / 4;
+        iteration = 0;
+        if (forcesX.length < n) {
+            forcesX = new float[n];
+            forcesY = new float[n];
+        }
+    }
+
+    /**
+     * Calcule les forces sur chaque nœud puis déplace les nœuds d'au plus la température courante.
+     */
+    @Override
+    public boolean iterer(GrapheCompact graphe, float[] xs, float[] ys) {
+        int n = graphe.nombreSommets();
+        if (n == 0 || iteration >= iterationsMax) {
+            return false;
+        }
+
+        float k = distanceIdeale;
+        float k2 = k * k;
+        arbre.construire(xs, ys, n);
+
+        // Répulsion (Barnes-Hut) et gravité, en parallèle : chaque nœud n'écrit que sa propre force
+        IntStream.range(0, n).parallel().forEach(i -> {
+            arbre.repulsion(i, xs, ys, k2, forcesX, forcesY);
+            forcesX[i] += GRAVITE * (centreX - xs[i]);
+            forcesY[i] += GRAVITE * (centreY - ys[i]);
+        });
+
+        // Attraction le long des abonnements (séquentielle : un arc modifie ses deux extrémités)
+        for (int de = 0; de < n; de++) {
+            for (int p = graphe.debut(de); p < graphe.fin(de); p++) {
+                int vers = graphe.cible(p);
+                float dx = xs[de] - xs[vers];
+                float dy = ys[de] - ys[vers];
+                float d = (float) Math.sqrt(dx * dx + dy * dy);
+                if (d < TAILLE_MIN) {
+                    continue;
+                }
+                float f = d / k;  // (d² / k) / d
+                forcesX[de] -= dx * f;
+                forcesY[de] -= dy * f;
+                forcesX[vers] += dx * f;
+                forcesY[vers] += dy * f;
+            }
+        }
+
+        // Déplacement limité par la température
+        float t = temperature;
+        IntStream.range(0, n).parallel().forEach(i -> {
+            float fx = forcesX[i];
+            float fy = forcesY[i];
+            float norme = (float) Math.sqrt(fx * fx + fy * fy);
+            if (norme > TAILLE_MIN) {
+                float pas = Math.min(norme, t) / norme;
+                xs[i] += fx * pas;
+                ys[i] += fy * pas;
+            }
+        });
+
+        temperature *= REFROIDISSEMENT;
+        iteration++;
+        return iteration < iterationsMax && temperature > 0.5f;
+    }
+
+    /**
+     * Quadtree de Barnes-Hut stocké dans des tableaux primitifs.
+     * <p>
+     * Chaque cellule connaît sa région carrée, sa masse (nombre de nœuds) et son barycentre.
+     * Une feuille contient au plus un nœud, sauf lorsque sa taille devient inférieure à
+     * {@link #TAILLE_MIN} : les nœuds superposés y sont alors cumulés.
+     * </p>
+     */
+    private static final class Quadtree {
+
+        private static final int VIDE = -1;       // Feuille vide
+        private static final int INTERNE = -2;    // Cellule subdivisée
+
+        private float[] minX = new float[64];
+        private float[] minY = new float[64];
+        private float[] taille = new float[64];
+        private float[] sommeX = new float[64];   // Somme des abscisses (barycentre = somme / masse)
+        private float[] sommeY = new float[64];
+        private int[] masse = new int[64];
+        private int[] contenu = new int[64];      // Nœud de la feuille, VIDE ou INTERNE
+        private int[] enfants = new int[256];     // Quatre enfants par cellule interne
+        private int nombreCellules;
+        private final ThreadLocal<int[][]> piles = ThreadLocal.withInitial(() -> new int[][]{new int[256]});
+
+        /**
+         * Reconstruit l'arbre pour les positions données.
+         */
+        void construire(float[] xs, float[] ys, int n) {
+            float x0 = Float.POSITIVE_INFINITY, y0 = Float.POSITIVE_INFINITY;
+            float x1 = Float.NEGATIVE_INFINITY, y1 = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                x0 = Math.min(x0, xs[i]);
+                y0 = Math.min(y0, ys[i]);
+                x1 = Math.max(x1, xs[i]);
+                y1 = Math.max(y1, ys[i]);
+            }
+
+            nombreCellules = 0;
+            nouvelleCellule(x0, y0, Math.max(x1 - x0, y1 - y0) + 1);
+            for (int i = 0; i < n; i++) {
+                inserer(i, xs[i], ys[i], xs, ys);
+            }
+        }
+
+        /**
+         * Crée une feuille vide et retourne son indice.
+         */
+        private int nouvelleCellule(float x, float y, float t) {
+            if (nombreCellules == masse.length) {
+                int capacite = masse.length * 2;
+                minX = Arrays.copyOf(minX, capacite);
+                minY = Arrays.copyOf(minY, capacite);
+                taille = Arrays.copyOf(taille, capacite);
+                sommeX = Arrays.copyOf(sommeX, capacite);
+                sommeY = Arrays.copyOf(sommeY, capacite);
+                masse = Arrays.copyOf(masse, capacite);
+                contenu = Arrays.copyOf(contenu, capacite);
+                enfants = Arrays.copyOf(enfants, capacite * 4);
+            }
+            int c = nombreCellules++;
+            minX[c] = x;
+            minY[c] = y;
+            taille[c] = t;
+            sommeX[c] = 0;
+            sommeY[c] = 0;
+            masse[c] = 0;
+            contenu[c] = VIDE;
+            return c;
+        }
+
+        /**
+         * Insère un nœud en descendant depuis la racine, sans récursion.
+         */
+        private void inserer(int i, float x, float y, float[] xs, float[] ys) {
+            int c = 0;
+            while (true) {
+                sommeX[c] += x;
+                sommeY[c] += y;
+                masse[c]++;
+
+                if (contenu[c] == VIDE) {
+                    contenu[c] = i;
+                    return;
+                }
+                if (contenu[c] >= 0) {
+                    if (taille[c] < TAILLE_MIN) {
+                        return;  // Nœuds superposés : la masse est cumulée dans la feuille
+                    }
+                    // Subdiviser la feuille et redescendre l'ancien occupant d'un niveau
+                    int ancien = contenu[c];
+                    contenu[c] = INTERNE;
+                    float demi = taille[c] / 2;
+                    for (int q = 0; q < 4; q++) {
+                        // Créer la cellule avant l'affectation : le tableau des enfants peut être réalloué
+                        int enfant = nouvelleCellule(minX[c] + (q & 1) * demi, minY[c] + (q >> 1) * demi, demi);
+                        enfants[4 * c + q] = enfant;
+                    }
+                    int e = enfants[4 * c + quadrant(c, xs[ancien], ys[ancien])];
+                    sommeX[e] += xs[ancien];
+                    sommeY[e] += ys[ancien];
+                    masse[e]++;
+                    contenu[e] = ancien;
+                }
+                c = enfants[4 * c + quadrant(c, x, y)];
+            }
+        }
+
+        /**
+         * Retourne le quadrant (0 à 3) de la cellule {@code c} qui contient le point donné.
+         */
+        private int quadrant(int c, float x, float y) {
+            float demi = taille[c] / 2;
+            int q = 0;
+            if (x >= minX[c] + demi) q |= 1;
+            if (y >= minY[c] + demi) q |= 2;
+            return q;
+        }
+
+        /**
+         * Calcule la force de répulsion totale subie par le nœud {@code i} et l'écrit dans les tableaux de forces.
+         */
+        void repulsion(int i, float[] xs, float[] ys, float k2, float[] forcesX, float[] forcesY) {
+            float x = xs[i];
+            float y = ys[i];
+            float fx = 0;
+            float fy = 0;
+
+            int[][] tampon = piles.get();
+            int[] pile = tampon[0];
+            int haut = 0;
+            pile[haut++] = 0;
+
+            while (haut > 0) {
+                int c = pile[--haut];
+                int m = masse[c];
+                if (m == 0 || contenu[c] == i && m == 1) {
+                    continue;
+                }
+
+                float cx = sommeX[c] / m;
+                float cy = sommeY[c] / m;
+                float dx = x - cx;
+                float dy = y - cy;
+                float d2 = dx * dx + dy * dy;
+
+                if (contenu[c] == INTERNE && taille[c] * taille[c] >= THETA * THETA * d2) {
+                    // Cellule trop proche pour être approximée : explorer ses enfants
+                    if (haut + 4 > pile.length) {
+                        pile = tampon[0] = Arrays.copyOf(pile, pile.length * 2);
+                    }
+                    for (int q = 0; q < 4; q++) {
+                        pile[haut++] = enfants[4 * c + q];
+                    }
+                    continue;
+                }
+
+                if (contenu[c] == i) {
+                    m--;  // Feuille de nœuds superposés contenant le nœud lui-même
+                }
+                if (d2 < TAILLE_MIN) {
+                    // Séparer des nœuds confondus dans une direction dépendant de l'identifiant
+                    dx = (float) Math.cos(i);
+                    dy = (float) Math.sin(i);
+                    d2 = 1;
+                }
+                float f = k2 * m / d2;  // (k² / d) / d, multiplié par la masse
+                fx += dx * f;
+                fy += dy * f;
+            }
+
+            forcesX[i] = fx;
+            forcesY[i] = fy;
+        }
+    }
+}
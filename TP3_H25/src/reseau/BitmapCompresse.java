@@ -0,0 +1,449 @@
+package reseau;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Ensemble d'entiers non négatifs compressé selon le principe des bitmaps « Roaring ».
+ * <p>
+ * Les entiers sont regroupés par leurs 16 bits de poids fort. Chaque groupe (conteneur) stocke les
+ * 16 bits de poids faible de ses éléments, soit dans un tableau trié de {@code char} lorsqu'il contient
+ * au plus {@link #MAX_TABLEAU} éléments, soit dans un bitmap de 65 536 bits (1 024 {@code long}) sinon.
+ * Un conteneur n'occupe donc jamais plus de 8 Ko, quelle que soit la densité des identifiants.
+ * </p>
+ * <p>
+ * Classe interne au paquetage : elle est utilisée par {@link EnsembleEntiers} pour les grands ensembles.
+ * </p>
+ */
+final class BitmapCompresse {
+
+    /**
+     * Nombre maximal d'éléments d'un conteneur tableau ; au-delà, le conteneur devient un bitmap.
+     */
+    static final int MAX_TABLEAU = 4096;
+
+    private static final int MOTS_BITMAP = 1024;
+
+    private char[] cles = new char[4];           // 16 bits de poids fort de chaque conteneur, triés
+    private char[][] tableaux = new char[4][];   // Conteneur tableau (ou null si le conteneur est un bitmap)
+    private long[][] bitmaps = new long[4][];    // Conteneur bitmap (ou null si le conteneur est un tableau)
+    private int[] cardinalites = new int[4];     // Nombre d'éléments de chaque conteneur
+    private int nombreConteneurs;
+    private int cardinalite;
+
+    /**
+     * Retourne le nombre d'éléments de l'ensemble.
+     *
+     * @return la cardinalité
+     */
+    int cardinalite() {
+        return cardinalite;
+    }
+
+    /**
+     * Vérifie si l'ensemble contient une valeur.
+     *
+     * @param valeur la valeur recherchée
+     * @return {@code true} si la valeur est présente
+     */
+    boolean contient(int valeur) {
+        int i = chercherConteneur((char) (valeur >>> 16));
+        if (i < 0) {
+            return false;
+        }
+        char bas = (char) valeur;
+        if (bitmaps[i] != null) {
+            return (bitmaps[i][bas >>> 6] & (1L << bas)) != 0;
+        }
+        return Arrays.binarySearch(tableaux[i], 0, cardinalites[i], bas) >= 0;
+    }
+
+    /**
+     * Ajoute une valeur à l'ensemble.
+     *
+     * @param valeur la valeur à ajouter
+     * @return {@code true} si la valeur n'était pas déjà présente
+     */
+    boolean ajouter(int valeur) {
+        char haut = (char) (valeur >>> 16);
+        char bas = (char) valeur;
+        int i = chercherConteneur(haut);
+        if (i < 0) {
+            i = -i - 1;
+            insererConteneur(i, haut, new char[4], null, 0);
+        }
+
+        if (bitmaps[i] != null) {
+            long masque = 1L << bas;
+            if ((bitmaps[i][bas >>> 6] & masque) != 0) {
+                return false;
+            }
+            bitmaps[i][bas >>> 6] |= masque;
+        } else {
+            int position = Arrays.binarySearch(tableaux[i], 0, cardinalites[i], bas);
+            if (position >= 0) {
+                return false;
+            }
+            if (cardinalites[i] == MAX_TABLEAU) {
+                bitmaps[i] = versBitmap(tableaux[i], cardinalites[i]);
+                tableaux[i] = null;
+                bitmaps[i][bas >>> 6] |= 1L << bas;
+            } else {
+                position = -position - 1;
+                if (cardinalites[i] == tableaux[i].length) {
+                    tableaux[i] = Arrays.copyOf(tableaux[i], Math.min(MAX_TABLEAU, tableaux[i].length * 2));
+                }
+                System.arraycopy(tableaux[i], position, tableaux[i], position + 1, cardinalites[i] - position);
+                tableaux[i][position] = bas;
+            }
+        }
+        cardinalites[i]++;
+        cardinalite++;
+        return true;
+    }
+
+    /**
+     * Retire une valeur de l'ensemble.
+     *
+     * @param valeur la valeur à retirer
+     * @return {@code true} si la valeur était présente
+     */
+    boolean retirer(int valeur) {
+        int i = chercherConteneur((char) (valeur >>> 16));
+        if (i < 0) {
+            return false;
+        }
+        char bas = (char) valeur;
+
+        if (bitmaps[i] != null) {
+            long masque = 1L << bas;
+            if ((bitmaps[i][bas >>> 6] & masque) == 0) {
+                return false;
+            }
+            bitmaps[i][bas >>> 6] &= ~masque;
+            if (cardinalites[i] - 1 <= MAX_TABLEAU) {
+                tableaux[i] = versTableau(bitmaps[i], cardinalites[i] - 1);
+                bitmaps[i] = null;
+            }
+        } else {
+            int position = Arrays.binarySearch(tableaux[i], 0, cardinalites[i], bas);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(tableaux[i], position + 1, tableaux[i], position, cardinalites[i] - position - 1);
+        }
+
+        cardinalite--;
+        if (--cardinalites[i] == 0) {
+            retirerConteneur(i);
+        }
+        return true;
+    }
+
+    /**
+     * Applique une action à chaque élément, en ordre croissant.
+     *
+     * @param action l'action à appliquer
+     */
+    void pourChaque(IntConsumer action) {
+        for (int i = 0; i < nombreConteneurs; i++) {
+            int haut = cles[i] << 16;
+            if (bitmaps[i] != null) {
+                long[] mots = bitmaps[i];
+                for (int m = 0; m < MOTS_BITMAP; m++) {
+                    long mot = mots[m];
+                    while (mot != 0) {
+                        action.accept(haut | (m << 6) | Long.numberOfTrailingZeros(mot));
+                        mot &= mot - 1;
+                    }
+                }
+            } else {
+                for (int k = 0; k < cardinalites[i]; k++) {
+                    action.accept(haut | tableaux[i][k]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calcule l'intersection de deux bitmaps, conteneur par conteneur.
+     *
+     * @param a le premier ensemble
+     * @param b le second ensemble
+     * @return un nouvel ensemble contenant les éléments communs
+     */
+    static BitmapCompresse intersection(BitmapCompresse a, BitmapCompresse b) {
+        BitmapCompresse resultat = new BitmapCompresse();
+        int i = 0, j = 0;
+        while (i < a.nombreConteneurs && j < b.nombreConteneurs) {
+            if (a.cles[i] < b.cles[j]) {
+                i++;
+            } else if (a.cles[i] > b.cles[j]) {
+                j++;
+            } else {
+                resultat.ajouterIntersection(a.cles[i], a, i, b, j);
+                i++;
+                j++;
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Calcule l'union de deux bitmaps, conteneur par conteneur.
+     *
+     * @param a le premier ensemble
+     * @param b le second ensemble
+     * @return un nouvel ensemble contenant les éléments des deux ensembles
+     */
+    static BitmapCompresse union(BitmapCompresse a, BitmapCompresse b) {
+        BitmapCompresse resultat = new BitmapCompresse();
+        int i = 0, j = 0;
+        while (i < a.nombreConteneurs || j < b.nombreConteneurs) {
+            if (j == b.nombreConteneurs || i < a.nombreConteneurs && a.cles[i] < b.cles[j]) {
+                resultat.ajouterCopie(a, i++);
+            } else if (i == a.nombreConteneurs || a.cles[i] > b.cles[j]) {
+                resultat.ajouterCopie(b, j++);
+            } else {
+                resultat.ajouterUnion(a.cles[i], a, i, b, j);
+                i++;
+                j++;
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Ajoute à cet ensemble tous les éléments d'un autre, en modifiant les conteneurs existants sur place.
+     *
+     * @param autre l'ensemble dont les éléments sont ajoutés
+     */
+    void ajouterTout(BitmapCompresse autre) {
+        if (autre == this) {
+            return;
+        }
+        for (int j = 0; j < autre.nombreConteneurs; j++) {
+            int i = chercherConteneur(autre.cles[j]);
+            if (i < 0) {
+                insererConteneur(-i - 1, autre.cles[j],
+                        autre.tableaux[j] != null ? Arrays.copyOf(autre.tableaux[j], autre.cardinalites[j]) : null,
+                        autre.bitmaps[j] != null ? autre.bitmaps[j].clone() : null,
+                        autre.cardinalites[j]);
+                continue;
+            }
+
+            int avant = cardinalites[i];
+            if (bitmaps[i] == null && autre.bitmaps[j] == null && avant + autre.cardinalites[j] <= MAX_TABLEAU) {
+                fusionnerTableau(i, autre.tableaux[j], autre.cardinalites[j]);
+            } else {
+                if (bitmaps[i] == null) {
+                    bitmaps[i] = versBitmap(tableaux[i], avant);
+                    tableaux[i] = null;
+                }
+                long[] mots = bitmaps[i];
+                if (autre.bitmaps[j] != null) {
+                    for (int m = 0; m < MOTS_BITMAP; m++) {
+                        mots[m] |= autre.bitmaps[j][m];
+                    }
+                } else {
+                    for (int k = 0; k < autre.cardinalites[j]; k++) {
+                        char v = autre.tableaux[j][k];
+                        mots[v >>> 6] |= 1L << v;
+                    }
+                }
+                int total = 0;
+                for (long mot : mots) {
+                    total += Long.bitCount(mot);
+                }
+                cardinalites[i] = total;
+                if (total <= MAX_TABLEAU) {
+                    tableaux[i] = versTableau(mots, total);
+                    bitmaps[i] = null;
+                }
+            }
+            cardinalite += cardinalites[i] - avant;
+        }
+    }
+
+    /**
+     * Fusionne un tableau trié dans le conteneur tableau {@code i}, en partant de la fin pour ne pas
+     * écraser les éléments restant à lire. Le résultat doit tenir dans un conteneur tableau.
+     */
+    private void fusionnerTableau(int i, char[] source, int nombre) {
+        int avant = cardinalites[i];
+        char[] cible = tableaux[i];
+        if (avant + nombre > cible.length) {
+            cible = Arrays.copyOf(cible, Math.min(MAX_TABLEAU, Math.max(avant + nombre, cible.length * 2)));
+            tableaux[i] = cible;
+        }
+
+        int x = avant - 1, y = nombre - 1, w = avant + nombre - 1;
+        while (y >= 0) {
+            if (x >= 0 && cible[x] >= source[y]) {
+                if (cible[x] == source[y]) {
+                    y--;  // Doublon : conservé une seule fois
+                }
+                cible[w--] = cible[x--];
+            } else {
+                cible[w--] = source[y--];
+            }
+        }
+
+        // Les doublons laissent un écart entre les éléments non déplacés et la partie fusionnée
+        int ecart = w - x;
+        if (ecart > 0) {
+            System.arraycopy(cible, w + 1, cible, x + 1, avant + nombre - 1 - w);
+        }
+        cardinalites[i] = avant + nombre - ecart;
+    }
+
+    /**
+     * Ajoute à la fin de ce bitmap l'intersection des conteneurs {@code i} de {@code a} et {@code j} de {@code b}.
+     */
+    private void ajouterIntersection(char cle, BitmapCompresse a, int i, BitmapCompresse b, int j) {
+        if (a.bitmaps[i] != null && b.bitmaps[j] != null) {
+            long[] mots = new long[MOTS_BITMAP];
+            int total = 0;
+            for (int m = 0; m < MOTS_BITMAP; m++) {
+                mots[m] = a.bitmaps[i][m] & b.bitmaps[j][m];
+                total += Long.bitCount(mots[m]);
+            }
+            if (total > MAX_TABLEAU) {
+                insererConteneur(nombreConteneurs, cle, null, mots, total);
+            } else if (total > 0) {
+                insererConteneur(nombreConteneurs, cle, versTableau(mots, total), null, total);
+            }
+            return;
+        }
+
+        // Au moins un tableau : le résultat tient dans un tableau
+        BitmapCompresse petit = a.bitmaps[i] == null ? a : b;
+        int p = petit == a ? i : j;
+        BitmapCompresse autre = petit == a ? b : a;
+        int q = petit == a ? j : i;
+        char[] valeurs = new char[petit.cardinalites[p]];
+        int total = 0;
+        for (int k = 0; k < petit.cardinalites[p]; k++) {
+            char v = petit.tableaux[p][k];
+            boolean present = autre.bitmaps[q] != null
+                    ? (autre.bitmaps[q][v >>> 6] & (1L << v)) != 0
+                    : Arrays.binarySearch(autre.tableaux[q], 0, autre.cardinalites[q], v) >= 0;
+            if (present) {
+                valeurs[total++] = v;
+            }
+        }
+        if (total > 0) {
+            insererConteneur(nombreConteneurs, cle, valeurs, null, total);
+        }
+    }
+
+    /**
+     * Ajoute à la fin de ce bitmap l'union des conteneurs {@code i} de {@code a} et {@code j} de {@code b}.
+     */
+    private void ajouterUnion(char cle, BitmapCompresse a, int i, BitmapCompresse b, int j) {
+        long[] mots = a.bitmaps[i] != null ? a.bitmaps[i].clone() : versBitmap(a.tableaux[i], a.cardinalites[i]);
+        if (b.bitmaps[j] != null) {
+            for (int m = 0; m < MOTS_BITMAP; m++) {
+                mots[m] |= b.bitmaps[j][m];
+            }
+        } else {
+            for (int k = 0; k < b.cardinalites[j]; k++) {
+                char v = b.tableaux[j][k];
+                mots[v >>> 6] |= 1L << v;
+            }
+        }
+        int total = 0;
+        for (long mot : mots) {
+            total += Long.bitCount(mot);
+        }
+        if (total > MAX_TABLEAU) {
+            insererConteneur(nombreConteneurs, cle, null, mots, total);
+        } else {
+            insererConteneur(nombreConteneurs, cle, versTableau(mots, total), null, total);
+        }
+    }
+
+    /**
+     * Ajoute à la fin de ce bitmap une copie du conteneur {@code i} de {@code source}.
+     */
+    private void ajouterCopie(BitmapCompresse source, int i) {
+        insererConteneur(nombreConteneurs, source.cles[i],
+                source.tableaux[i] != null ? Arrays.copyOf(source.tableaux[i], source.cardinalites[i]) : null,
+                source.bitmaps[i] != null ? source.bitmaps[i].clone() : null,
+                source.cardinalites[i]);
+    }
+
+    /**
+     * Recherche le conteneur d'une clé.
+     *
+     * @return son indice, ou {@code -(point d'insertion) - 1} s'il n'existe pas
+     */
+    private int chercherConteneur(char cle) {
+        return Arrays.binarySearch(cles, 0, nombreConteneurs, cle);
+    }
+
+    /**
+     * Insère un conteneur à la position donnée.
+     */
+    private void insererConteneur(int position, char cle, char[] tableau, long[] bitmap, int nombre) {
+        if (nombreConteneurs == cles.length) {
+            int capacite = cles.length * 2;
+            cles = Arrays.copyOf(cles, capacite);
+            tableaux = Arrays.copyOf(tableaux, capacite);
+            bitmaps = Arrays.copyOf(bitmaps, capacite);
+            cardinalites = Arrays.copyOf(cardinalites, capacite);
+        }
+        int deplaces = nombreConteneurs - position;
+        System.arraycopy(cles, position, cles, position + 1, deplaces);
+        System.arraycopy(tableaux, position, tableaux, position + 1, deplaces);
+        System.arraycopy(bitmaps, position, bitmaps, position + 1, deplaces);
+        System.arraycopy(cardinalites, position, cardinalites, position + 1, deplaces);
+        cles[position] = cle;
+        tableaux[position] = tableau;
+        bitmaps[position] = bitmap;
+        cardinalites[position] = nombre;
+        nombreConteneurs++;
+        cardinalite += nombre;
+    }
+
+    /**
+     * Retire le conteneur situé à la position donnée (sa cardinalité doit déjà être déduite).
+     */
+    private void retirerConteneur(int position) {
+        int deplaces = nombreConteneurs - position - 1;
+        System.arraycopy(cles, position + 1, cles, position, deplaces);
+        System.arraycopy(tableaux, position + 1, tableaux, position, deplaces);
+        System.arraycopy(bitmaps, position + 1, bitmaps, position, deplaces);
+        System.arraycopy(cardinalites, position + 1, cardinalites, position, deplaces);
+        nombreConteneurs--;
+        tableaux[nombreConteneurs] = null;
+        bitmaps[nombreConteneurs] = null;
+    }
+
+    /**
+     * Convertit un conteneur tableau en bitmap.
+     */
+    private static long[] versBitmap(char[] valeurs, int nombre) {
+        long[] mots = new long[MOTS_BITMAP];
+        for (int k = 0; k < nombre; k++) {
+            mots[valeurs[k] >>> 6] |= 1L << valeurs[k];
+        }
+        return mots;
+    }
+
+    /**
+     * Convertit un conteneur bitmap en tableau trié.
+     */
+    private static char[] versTableau(long[] mots, int nombre) {
+        char[] valeurs = new char[Math.max(nombre, 1)];
+        int k = 0;
+        for (int m = 0; m < MOTS_BITMAP; m++) {
+            long mot = mots[m];
+            while (mot != 0) {
+                valeurs[k++] = (char) ((m << 6) | Long.numberOfTrailingZeros(mot));
+                mot &= mot - 1;
+            }
+        }
+        return valeurs;
+    }
+}
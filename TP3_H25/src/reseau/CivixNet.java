@@ -8,32 +8,128 @@ import java.util.*;
  * peuvent s'abonner à d'autres utilisateurs et interagir avec eux.
  * <p>
  * Chaque utilisateur est représenté par un objet {@link Utilisateur}, et les relations
- * d'abonnement sont gérées dans une carte associant chaque utilisateur à un ensemble
- * d'autres utilisateurs qu'il suit.
+ * d'abonnement sont conservées dans un {@link StockageGraphe} choisi à la construction
+ * ({@link StockageTableaux} par défaut).
  * </p>
  */
 public class CivixNet {
 
     /**
-     * La carte représentant les utilisateurs et leurs abonnements.
-     * La clé est un utilisateur, et la valeur est l'ensemble des utilisateurs qu'il suit.
+     * Le stockage des utilisateurs et de leurs abonnements.
      */
-    private TreeMap<Utilisateur, Set<Utilisateur>> utilisateurs;
+    private final StockageGraphe stockage;
 
     /**
-     * Constructeur par défaut. Initialise un réseau vide.
+     * Constructeur par défaut. Initialise un réseau vide stocké dans des tableaux d'identifiants.
      */
     public CivixNet() {
-        this.utilisateurs = new TreeMap<>();
+        this(new StockageTableaux());
     }
 
     /**
-     * Retourne la carte des utilisateurs du réseau.
+     * Constructeur. Initialise un réseau utilisant le stockage donné.
+     *
+     * @param stockage le stockage des utilisateurs et des abonnements
+     */
+    public CivixNet(StockageGraphe stockage) {
+        this.stockage = stockage;
+    }
+
+    /**
+     * Retourne le stockage du réseau, pour les classes du paquetage.
+     *
+     * @return le stockage
+     */
+    StockageGraphe stockage() {
+        return stockage;
+    }
+
+    /**
+     * Retourne une vue en lecture seule, toujours à jour, des utilisateurs et de leurs abonnements.
+     * <p>
+     * Préférer {@link #utilisateurs()} et {@link #abonnementsDe(Utilisateur)}, qui ne dépendent pas
+     * d'une carte et sont efficaces pour tous les stockages.
+     * </p>
      *
      * @return une map représentant les utilisateurs et leurs abonnements
      */
     public Map<Utilisateur, Set<Utilisateur>> getUtilisateurs() {
-        return utilisateurs;
+        return new AbstractMap<>() {
+            @Override
+            public Set<Entry<Utilisateur, Set<Utilisateur>>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<Utilisateur, Set<Utilisateur>>> iterator() {
+                        Iterator<Utilisateur> it = stockage.utilisateurs().iterator();
+                        return new Iterator<>() {
+                            @Override
+                            public boolean hasNext() {
+                                return it.hasNext();
+                            }
+
+                            @Override
+                            public Entry<Utilisateur, Set<Utilisateur>> next() {
+                                Utilisateur u = it.next();
+                                return new SimpleImmutableEntry<>(u, stockage.abonnements(u));
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return stockage.nombreUtilisateurs();
+                    }
+                };
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return key instanceof Utilisateur && stockage.contient((Utilisateur) key);
+            }
+
+            @Override
+            public Set<Utilisateur> get(Object key) {
+                return containsKey(key) ? stockage.abonnements((Utilisateur) key) : null;
+            }
+        };
+    }
+
+    /**
+     * Retourne les utilisateurs du réseau, en lecture seule.
+     * L'ordre de parcours dépend du stockage.
+     *
+     * @return les utilisateurs du réseau
+     */
+    public Collection<Utilisateur> utilisateurs() {
+        return stockage.utilisateurs();
+    }
+
+    /**
+     * Retourne le nombre d'utilisateurs du réseau.
+     *
+     * @return le nombre d'utilisateurs
+     */
+    public int nombreUtilisateurs() {
+        return stockage.nombreUtilisateurs();
+    }
+
+    /**
+     * Retourne les utilisateurs suivis par un utilisateur, en lecture seule.
+     *
+     * @param compte l'utilisateur concerné
+     * @return ses abonnements, ou un ensemble vide s'il n'appartient pas au réseau
+     */
+    public Set<Utilisateur> abonnementsDe(Utilisateur compte) {
+        return stockage.abonnements(compte);
+    }
+
+    /**
+     * Retourne une copie en lecture seule de ce réseau, utilisant un {@link StockageFige}.
+     *
+     * @return un nouveau réseau figé
+     */
+    public CivixNet figer() {
+        return new CivixNet(new StockageFige(stockage));
     }
 
     /**
@@ -49,7 +145,7 @@ public class CivixNet {
             throw new IllegalArgumentException("Le nom ou le mot de passe est invalide.");
         }
 
-        this.utilisateurs.put(newUser, new HashSet<Utilisateur>());
+        stockage.ajouterUtilisateur(newUser);
     }
 
     /**
@@ -59,9 +155,7 @@ public class CivixNet {
      * @param nouvelAbonnement l'utilisateur à suivre
      */
     public void ajouterAbonnement(Utilisateur compte, Utilisateur nouvelAbonnement) {
-        if (utilisateurs.containsKey(compte)) {
-            utilisateurs.get(compte).add(nouvelAbonnement);
-        }
+        stockage.ajouterAbonnement(compte, nouvelAbonnement);
     }
 
     /**
@@ -71,7 +165,7 @@ public class CivixNet {
      * @param abonnementARetirer l'utilisateur à ne plus suivre
      */
     public void retirerAbonnement(Utilisateur compte, Utilisateur abonnementARetirer) {
-        utilisateurs.get(compte).remove(abonnementARetirer);
+        stockage.retirerAbonnement(compte, abonnementARetirer);
     }
 
     /**
@@ -81,7 +175,9 @@ public class CivixNet {
      * @param nouveauxAbonnements la liste des nouveaux abonnements
      */
     public void ajouterAbonnements(Utilisateur compte, List<Utilisateur> nouveauxAbonnements) {
-        utilisateurs.get(compte).addAll(nouveauxAbonnements);
+        for (Utilisateur abonnement : nouveauxAbonnements) {
+            stockage.ajouterAbonnement(compte, abonnement);
+        }
     }
 
     /**
@@ -91,7 +187,9 @@ public class CivixNet {
      * @param abonnementsARetirer la liste des abonnements à supprimer
      */
     public void retirerAbonnements(Utilisateur compte, List<Utilisateur> abonnementsARetirer) {
-        utilisateurs.get(compte).removeAll(abonnementsARetirer);
+        for (Utilisateur abonnement : abonnementsARetirer) {
+            stockage.retirerAbonnement(compte, abonnement);
+        }
     }
 
     /**
@@ -102,14 +200,22 @@ public class CivixNet {
      * @throws RuntimeException si l'utilisateur n'existe pas
      */
     public Utilisateur obtenirUtilisateurAPartirDuUsername(String username) {
-        for (Utilisateur u : utilisateurs.keySet()) {
-
-                if (u.getUsername().equals(username)) {
-                    return u;
-                }
+        Utilisateur u = stockage.chercher(username);
+        if (u == null) {
+            throw new RuntimeException("Utilisateur introuvable");
         }
 
-        throw new RuntimeException("Utilisateur introuvable");
+        return u;
+    }
+
+    /**
+     * Recherche un utilisateur dans le réseau à partir de son nom, sans lever d'exception.
+     *
+     * @param username le nom d'utilisateur recherché
+     * @return l'objet {@link Utilisateur} correspondant, ou {@code null} s'il n'existe pas
+     */
+    public Utilisateur chercherUtilisateur(String username) {
+        return stockage.chercher(username);
     }
 
     /**
@@ -120,11 +226,39 @@ public class CivixNet {
      * @return {@code true} si u1 suit u2, sinon {@code false}
      */
     public boolean abonnementMutuel(Utilisateur u1, Utilisateur u2) {
+        return stockage.suit(u1, u2) && stockage.suit(u2, u1);
+    }
 
-        if (utilisateurs.containsKey(u1) && utilisateurs.containsKey(u2)) {
-            return utilisateurs.get(u1).contains(u2) && utilisateurs.get(u2).contains(u1);
-        }
-        return false;
+    /**
+     * Retourne les utilisateurs mutuellement abonnés avec l'utilisateur donné.
+     *
+     * @param compte l'utilisateur concerné
+     * @return les abonnés mutuels
+     */
+    public Set<Utilisateur> abonnesMutuels(Utilisateur compte) {
+        return stockage.abonnesMutuels(compte);
+    }
+
+    /**
+     * Retourne les utilisateurs suivis à la fois par deux utilisateurs.
+     *
+     * @param u1 le premier utilisateur
+     * @param u2 le second utilisateur
+     * @return les abonnements communs
+     */
+    public Set<Utilisateur> abonnementsCommuns(Utilisateur u1, Utilisateur u2) {
+        return stockage.abonnementsCommuns(u1, u2);
+    }
+
+    /**
+     * Recommande des comptes à suivre : les utilisateurs suivis par les abonnements de l'utilisateur donné,
+     * qu'il ne suit pas encore.
+     *
+     * @param compte l'utilisateur concerné
+     * @return les comptes recommandés
+     */
+    public Set<Utilisateur> recommandations(Utilisateur compte) {
+        return stockage.recommandations(compte);
     }
 
     /**
@@ -136,6 +270,7 @@ public class CivixNet {
      * - niveau 1 : ses abonnés directs
      * - niveau 2 : les abonnés de ses abonnés
      * <p>
+     * Chaque utilisateur est compté à son niveau minimal, quel que soit l'ordre de parcours des abonnements.
      * Les doublons sont éliminés, et le résultat est retourné trié en ordre alphabétique inverse.
      *
      * @param username le nom d'utilisateur de la personne ayant lancé la fausse information
@@ -143,31 +278,40 @@ public class CivixNet {
      */
     public ArrayList<Utilisateur> propagationFausseInformationRecursive(String username) {
         Utilisateur u = obtenirUtilisateurAPartirDuUsername(username);
-        Set<Utilisateur> affectes = new HashSet<>();
+        Map<Utilisateur, Integer> affectes = new HashMap<>();
 
         propagerRecursive(u, 0, 2, affectes);
-        ArrayList<Utilisateur> pesteBubonique = new ArrayList<>(affectes); // :)
-        pesteBubonique.sort((u1, u2) -> u2.getUsername().compareTo(u1.getUsername()));
+        ArrayList<Utilisateur> pesteBubonique = new ArrayList<>(affectes.keySet()); // :)
+        pesteBubonique.sort(Utilisateur.ORDRE_ALPHABETIQUE_INVERSE);
 
         return pesteBubonique;
     }
 
     /**
      * Méthode auxiliaire récursive qui propage la fausse information dans le réseau.
+     * <p>
+     * Un utilisateur déjà atteint est propagé de nouveau s'il est atteint par un chemin plus court :
+     * sans cela, un utilisateur d'abord visité au niveau maximal bloquerait ses abonnements,
+     * et le résultat dépendrait de l'ordre de parcours du stockage.
+     * </p>
      *
      * @param courant   l'utilisateur actuellement traité dans la récursion
      * @param niveau    niveau actuel de la récursion (0 pour l'utilisateur initial)
      * @param maxNiveau niveau maximal de propagation autorisé (ex. : 2)
-     * @param affectes  ensemble cumulatif des utilisateurs affectés par la propagation
+     * @param affectes  niveau minimal auquel chaque utilisateur affecté a été atteint
      */
-    private void propagerRecursive(Utilisateur courant, int niveau, int maxNiveau, Set<Utilisateur> affectes) {
-        if (niveau > maxNiveau || affectes.contains(courant)) {
+    private void propagerRecursive(Utilisateur courant, int niveau, int maxNiveau, Map<Utilisateur, Integer> affectes) {
+        if (niveau > maxNiveau) {
+            return;
+        }
+        Integer connu = affectes.get(courant);
+        if (connu != null && connu <= niveau) {
             return;
         }
-        affectes.add(courant);
+        affectes.put(courant, niveau);
 
-        for (Utilisateur abonnement : utilisateurs.get(courant)) {
-            propagerRecursive(abonnement, niveau++, maxNiveau, affectes);
+        for (Utilisateur abonnement : stockage.abonnements(courant)) {
+            propagerRecursive(abonnement, niveau + 1, maxNiveau, affectes);
         }
     }
 
@@ -179,18 +323,21 @@ public class CivixNet {
      */
     @Override
     public String toString() {
-        String str = "=== Réseau CivixNet ===";
-        for (Utilisateur u : utilisateurs.keySet()) {
-            str += "\n" + u.getUsername() + " suit : ";
-            for (Utilisateur abonnement : utilisateurs.get(u)) {
-
-                if (abonnement != null) {
-                    str += "aucun";
-                }
-                str += abonnement.getUsername() + ", ";
+        StringBuilder str = new StringBuilder(32 + 64 * stockage.nombreUtilisateurs());
+        str.append("=== Réseau CivixNet ===");
+        for (Utilisateur u : stockage.utilisateurs()) {
+            str.append('\n').append(u.getUsername()).append(" suit : ");
+            Set<Utilisateur> abonnements = stockage.abonnements(u);
+            if (abonnements.isEmpty()) {
+                str.append("aucun");
+            }
+            String separateur = "";
+            for (Utilisateur abonnement : abonnements) {
+                str.append(separateur).append(abonnement.getUsername());
+                separateur = ", ";
             }
         }
 
-        return str;
+        return str.toString();
     }
 }
@@ -0,0 +1,269 @@
+package reseau;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * La classe {@code Communautes} regroupe des algorithmes de détection de chambres d'écho
+ * sur le graphe d'abonnements d'un {@link CivixNet}.
+ * <p>
+ * Les algorithmes travaillent sur un {@link GrapheCompact} et retournent, pour chaque utilisateur,
+ * l'identifiant de sa composante ou de sa communauté dans un tableau d'entiers indexé par
+ * l'identifiant du sommet ({@link GrapheCompact#utilisateur(int)}).
+ * </p>
+ * <p>
+ * Aucun des algorithmes n'est récursif : la profondeur du graphe ne peut donc pas provoquer
+ * de {@link StackOverflowError}.
+ * </p>
+ */
+public final class Communautes {
+
+    /**
+     * Nombre d'itérations par défaut de la propagation d'étiquettes.
+     */
+    public static final int ITERATIONS_PAR_DEFAUT = 20;
+
+    /**
+     * Constructeur privé : classe utilitaire.
+     */
+    private Communautes() {
+    }
+
+    /**
+     * Calcule les composantes fortement connexes du réseau donné.
+     *
+     * @param reseau le réseau à analyser
+     * @return la composante de chaque utilisateur, indexée selon {@link GrapheCompact#depuis(CivixNet)}
+     * @see #composantesFortementConnexes(GrapheCompact)
+     */
+    public static int[] composantesFortementConnexes(CivixNet reseau) {
+        return composantesFortementConnexes(GrapheCompact.depuis(reseau));
+    }
+
+    /**
+     * Calcule les composantes fortement connexes du graphe à l'aide d'une version itérative
+     * de l'algorithme de Tarjan.
+     * <p>
+     * Deux utilisateurs sont dans la même composante si chacun peut atteindre l'autre en suivant
+     * les abonnements. Les composantes sont numérotées à partir de {@code 0}, dans l'ordre où
+     * l'algorithme les termine (ordre topologique inverse du graphe des composantes).
+     * </p>
+     *
+     * @param graphe le graphe à analyser
+     * @return un tableau où la case {@code i} contient la composante du sommet {@code i}
+     */
+    public static int[] composantesFortementConnexes(GrapheCompact graphe) {
+        int n = graphe.nombreSommets();
+        int[] composante = new int[n];
+        int[] ordre = new int[n];          // Ordre de découverte (0 = non visité)
+        int[] basLien = new int[n];        // Plus petit ordre atteignable (lowlink)
+        boolean[] surPile = new boolean[n];
+        int[] pileTarjan = new int[n];
+        int[] pileAppels = new int[n];     // Remplace la pile d'appels de la version récursive
+        int[] arcCourant = new int[n];     // Prochain arc à explorer pour chaque sommet de la pile d'appels
+        int hautTarjan = 0;
+        int compteur = 0;
+        int nombreComposantes = 0;
+
+        for (int racine = 0; racine < n; racine++) {
+            if (ordre[racine] != 0) {
+                continue;
+            }
+
+            int hautAppels = 0;
+            pileAppels[hautAppels++] = racine;
+            ordre[racine] = basLien[racine] = ++compteur;
+            arcCourant[racine] = graphe.debut(racine);
+            pileTarjan[hautTarjan++] = racine;
+            surPile[racine] = true;
+
+            while (hautAppels > 0) {
+                int v = pileAppels[hautAppels - 1];
+
+                if (arcCourant[v] < graphe.fin(v)) {
+                    int w = graphe.cible(arcCourant[v]++);
+                    if (ordre[w] == 0) {
+                        // Équivalent de l'appel récursif sur w
+                        ordre[w] = basLien[w] = ++compteur;
+                        arcCourant[w] = graphe.debut(w);
+                        pileTarjan[hautTarjan++] = w;
+                        surPile[w] = true;
+                        pileAppels[hautAppels++] = w;
+                    } else if (surPile[w]) {
+                        basLien[v] = Math.min(basLien[v], ordre[w]);
+                    }
+                    continue;
+                }
+
+                // Tous les arcs de v sont explorés : retour de l'appel
+                hautAppels--;
+                if (basLien[v] == ordre[v]) {
+                    int w;
+                    do {
+                        w = pileTarjan[--hautTarjan];
+                        surPile[w] = false;
+                        composante[w] = nombreComposantes;
+                    } while (w != v);
+                    nombreComposantes++;
+                }
+                if (hautAppels > 0) {
+                    int parent = pileAppels[hautAppels - 1];
+                    basLien[parent] = Math.min(basLien[parent], basLien[v]);
+                }
+            }
+        }
+
+        return composante;
+    }
+
+    /**
+     * Détecte les communautés du réseau donné par propagation d'étiquettes.
+     *
+     * @param reseau le réseau à analyser
+     * @return la communauté de chaque utilisateur, indexée selon {@link GrapheCompact#depuis(CivixNet)}
+     * @see #propagationEtiquettes(GrapheCompact, int)
+     */
+    public static int[] propagationEtiquettes(CivixNet reseau) {
+        return propagationEtiquettes(GrapheCompact.depuis(reseau), ITERATIONS_PAR_DEFAUT);
+    }
+
+    /**
+     * Détecte les communautés du graphe par propagation d'étiquettes parallèle.
+     * <p>
+     * Les abonnements sont considérés dans les deux sens. À chaque étape, chaque utilisateur adopte
+     * l'étiquette la plus fréquente parmi ses voisins (la plus petite en cas d'égalité, sauf si son
+     * étiquette actuelle fait partie des plus fréquentes). Les sommets pairs et impairs sont mis à jour
+     * en alternance, ce qui réduit les oscillations de la version synchrone sans les éliminer : la parité
+     * de l'identifiant n'est pas une coloration du graphe, et deux voisins de même parité peuvent encore
+     * échanger leurs étiquettes indéfiniment. Le calcul s'arrête donc au plus tard après
+     * {@code iterationsMax} itérations. Chaque demi-étape est répartie sur tous les cœurs et son résultat
+     * est déterministe.
+     * </p>
+     * <p>
+     * Les communautés sont renumérotées à partir de {@code 0}, dans l'ordre des identifiants de sommet.
+     * </p>
+     *
+     * @param graphe         le graphe à analyser
+     * @param iterationsMax  le nombre maximal d'itérations complètes
+     * @return un tableau où la case {@code i} contient la communauté du sommet {@code i}
+     * @throws IllegalArgumentException si le nombre d'itérations est négatif
+     */
+    public static int[] propagationEtiquettes(GrapheCompact graphe, int iterationsMax) {
+        if (iterationsMax < 0) {
+            throw new IllegalArgumentException("Le nombre d'itérations est invalide.");
+        }
+
+        int n = graphe.nombreSommets();
+        GrapheCompact abonnes = graphe.transpose();
+        int[] etiquettes = new int[n];
+        int[] suivantes = new int[n];
+        Arrays.setAll(etiquettes, i -> i);
+
+        // Tampon de travail par fil d'exécution, agrandi au besoin
+        ThreadLocal<int[][]> tampons = ThreadLocal.withInitial(() -> new int[][]{new int[64]});
+
+        for (int iteration = 0; iteration < iterationsMax; iteration++) {
+            long changements = 0;
+
+            for (int parite = 0; parite < 2; parite++) {
+                final int p = parite;
+                final int[] courantes = etiquettes;
+                final int[] resultat = suivantes;
+
+                changements += IntStream.range(0, n).parallel().map(i -> {
+                    if ((i & 1) != p) {
+                        resultat[i] = courantes[i];
+                        return 0;
+                    }
+                    resultat[i] = etiquetteMajoritaire(graphe, abonnes, courantes, i, tampons.get());
+                    return resultat[i] != courantes[i] ? 1 : 0;
+                }).sum();
+
+                suivantes = etiquettes;
+                etiquettes = resultat;
+            }
+
+            if (changements == 0) {
+                break;
+            }
+        }
+
+        return renumeroter(etiquettes);
+    }
+
+    /**
+     * Détermine l'étiquette la plus fréquente parmi les voisins (abonnements et abonnés) d'un sommet.
+     *
+     * @param graphe     le graphe des abonnements
+     * @param abonnes    le graphe transposé (abonnés)
+     * @param etiquettes les étiquettes courantes
+     * @param sommet     le sommet à mettre à jour
+     * @param tampon     tampon réutilisable, dans une case de tableau pour pouvoir être agrandi
+     * @return la nouvelle étiquette du sommet
+     */
+    private static int etiquetteMajoritaire(GrapheCompact graphe, GrapheCompact abonnes, int[] etiquettes,
+                                            int sommet, int[][] tampon) {
+        int degre = (graphe.fin(sommet) - graphe.debut(sommet)) + (abonnes.fin(sommet) - abonnes.debut(sommet));
+        int actuelle = etiquettes[sommet];
+        if (degre == 0) {
+            return actuelle;
+        }
+        if (tampon[0].length < degre) {
+            tampon[0] = new int[Math.max(degre, tampon[0].length * 2)];
+        }
+
+        int[] voisines = tampon[0];
+        int taille = 0;
+        for (int k = graphe.debut(sommet); k < graphe.fin(sommet); k++) {
+            voisines[taille++] = etiquettes[graphe.cible(k)];
+        }
+        for (int k = abonnes.debut(sommet); k < abonnes.fin(sommet); k++) {
+            voisines[taille++] = etiquettes[abonnes.cible(k)];
+        }
+        Arrays.sort(voisines, 0, taille);
+
+        // Parcours des séquences d'étiquettes identiques : la première séquence maximale est la plus petite étiquette
+        int meilleure = actuelle;
+        int meilleurCompte = 0;
+        int compteActuelle = 0;
+        for (int debut = 0; debut < taille; ) {
+            int fin = debut;
+            while (fin < taille && voisines[fin] == voisines[debut]) {
+                fin++;
+            }
+            int compte = fin - debut;
+            if (compte > meilleurCompte) {
+                meilleurCompte = compte;
+                meilleure = voisines[debut];
+            }
+            if (voisines[debut] == actuelle) {
+                compteActuelle = compte;
+            }
+            debut = fin;
+        }
+
+        return compteActuelle == meilleurCompte ? actuelle : meilleure;
+    }
+
+    /**
+     * Renumérote des étiquettes arbitraires de façon contiguë à partir de {@code 0}.
+     *
+     * @param etiquettes les étiquettes, comprises entre {@code 0} et {@code etiquettes.length - 1}
+     * @return un nouveau tableau d'étiquettes contiguës
+     */
+    private static int[] renumeroter(int[] etiquettes) {
+        int[] correspondance = new int[etiquettes.length];
+        Arrays.fill(correspondance, -1);
+        int[] resultat = new int[etiquettes.length];
+        int prochaine = 0;
+
+        for (int i = 0; i < etiquettes.length; i++) {
+            if (correspondance[etiquettes[i]] < 0) {
+                correspondance[etiquettes[i]] = prochaine++;
+            }
+            resultat[i] = correspondance[etiquettes[i]];
+        }
+
+        return resultat;
+    }
+}
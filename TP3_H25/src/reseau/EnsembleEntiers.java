@@ -0,0 +1,407 @@
+package reseau;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * La classe {@code EnsembleEntiers} représente un ensemble d'identifiants d'utilisateurs
+ * (entiers non négatifs) dont la représentation s'adapte à sa taille.
+ * <p>
+ * Tant que l'ensemble compte au plus {@code seuil} éléments, il est stocké dans un {@code int[]} trié.
+ * Au-delà, il est converti en {@link BitmapCompresse} (conteneurs de type « Roaring »), beaucoup plus
+ * compact pour les comptes très suivis ; il redevient un tableau lorsqu'il descend sous la moitié du seuil.
+ * </p>
+ * <p>
+ * Les opérations d'intersection et d'union choisissent l'algorithme selon les représentations en présence
+ * (fusion de tableaux triés, filtrage d'un tableau par un bitmap ou opérations mot à mot entre bitmaps).
+ * </p>
+ */
+public final class EnsembleEntiers {
+
+    /**
+     * Seuil par défaut au-delà duquel un ensemble est converti en bitmap.
+     */
+    public static final int SEUIL_PAR_DEFAUT = 4096;
+
+    private final int seuil;
+    private int[] tableau;            // Éléments triés (null en mode bitmap)
+    private int taille;               // Nombre d'éléments utilisés dans le tableau
+    private BitmapCompresse bitmap;   // Éléments en mode bitmap (null en mode tableau)
+
+    /**
+     * Constructeur par défaut. Crée un ensemble vide avec le seuil par défaut.
+     */
+    public EnsembleEntiers() {
+        this(SEUIL_PAR_DEFAUT);
+    }
+
+    /**
+     * Constructeur. Crée un ensemble vide avec le seuil de conversion donné.
+     *
+     * @param seuil le nombre d'éléments au-delà duquel l'ensemble passe en mode bitmap
+     * @throws IllegalArgumentException si le seuil est inférieur à 1
+     */
+    public EnsembleEntiers(int seuil) {
+        if (seuil < 1) {
+            throw new IllegalArgumentException("Le seuil est invalide.");
+        }
+        this.seuil = seuil;
+        this.tableau = new int[4];
+    }
+
+    /**
+     * Retourne le nombre d'éléments de l'ensemble.
+     *
+     * @return la cardinalité
+     */
+    public int taille() {
+        return bitmap != null ? bitmap.cardinalite() : taille;
+    }
+
+    /**
+     * Vérifie si l'ensemble est vide.
+     *
+     * @return {@code true} si l'ensemble ne contient aucun élément
+     */
+    public boolean estVide() {
+        return taille() == 0;
+    }
+
+    /**
+     * Indique si l'ensemble est actuellement stocké sous forme de bitmap compressé.
+     *
+     * @return {@code true} en mode bitmap, {@code false} en mode tableau
+     */
+    public boolean estBitmap() {
+        return bitmap != null;
+    }
+
+    /**
+     * Vérifie si l'ensemble contient une valeur.
+     *
+     * @param valeur la valeur recherchée
+     * @return {@code true} si la valeur est présente
+     */
+    public boolean contient(int valeur) {
+        if (bitmap != null) {
+            return bitmap.contient(valeur);
+        }
+        return Arrays.binarySearch(tableau, 0, taille, valeur) >= 0;
+    }
+
+    /**
+     * Ajoute une valeur à l'ensemble.
+     *
+     * @param valeur la valeur à ajouter (non négative)
+     * @return {@code true} si la valeur n'était pas déjà présente
+     * @throws IllegalArgumentException si la valeur est négative
+     */
+    public boolean ajouter(int valeur) {
+        if (valeur < 0) {
+            throw new IllegalArgumentException("La valeur est invalide.");
+        }
+        if (bitmap != null) {
+            return bitmap.ajouter(valeur);
+        }
+
+        int position = Arrays.binarySearch(tableau, 0, taille, valeur);
+        if (position >= 0) {
+            return false;
+        }
+        if (taille == seuil) {
+            convertirEnBitmap();
+            return bitmap.ajouter(valeur);
+        }
+
+        position = -position - 1;
+        if (taille == tableau.length) {
+            tableau = Arrays.copyOf(tableau, Math.min(seuil, tableau.length * 2));
+        }
+        System.arraycopy(tableau, position, tableau, position + 1, taille - position);
+        tableau[position] = valeur;
+        taille++;
+        return true;
+    }
+
+    /**
+     * Ajoute à cet ensemble tous les éléments d'un autre, sans créer de nouvel ensemble.
+     * <p>
+     * Deux tableaux sont fusionnés sur place, en partant de la fin ; le tableau n'est agrandi que lorsque
+     * sa capacité ne suffit pas. Si le résultat peut dépasser le seuil, l'ensemble passe en mode bitmap
+     * et les conteneurs de l'autre ensemble y sont ajoutés directement.
+     * </p>
+     *
+     * @param autre l'ensemble dont les éléments sont ajoutés
+     */
+    public void ajouterTout(EnsembleEntiers autre) {
+        if (autre == this || autre.estVide()) {
+            return;
+        }
+
+        if (bitmap == null && autre.bitmap == null && taille + autre.taille <= seuil) {
+            int nombre = autre.taille;
+            int[] source = autre.tableau;
+            if (taille + nombre > tableau.length) {
+                tableau = Arrays.copyOf(tableau, Math.min(seuil, Math.max(taille + nombre, tableau.length * 2)));
+            }
+
+            int x = taille - 1, y = nombre - 1, w = taille + nombre - 1;
+            while (y >= 0) {
+                if (x >= 0 && tableau[x] >= source[y]) {
+                    if (tableau[x] == source[y]) {
+                        y--;  // Doublon : conservé une seule fois
+                    }
+                    tableau[w--] = tableau[x--];
+                } else {
+                    tableau[w--] = source[y--];
+                }
+            }
+
+            // Les doublons laissent un écart entre les éléments non déplacés et la partie fusionnée
+            int ecart = w - x;
+            if (ecart > 0) {
+                System.arraycopy(tableau, w + 1, tableau, x + 1, taille + nombre - 1 - w);
+            }
+            taille += nombre - ecart;
+            return;
+        }
+
+        if (bitmap == null) {
+            convertirEnBitmap();
+        }
+        if (autre.bitmap != null) {
+            bitmap.ajouterTout(autre.bitmap);
+        } else {
+            for (int i = 0; i < autre.taille; i++) {
+                bitmap.ajouter(autre.tableau[i]);
+            }
+        }
+    }
+
+    /**
+     * Retire une valeur de l'ensemble.
+     *
+     * @param valeur la valeur à retirer
+     * @return {@code true} si la valeur était présente
+     */
+    public boolean retirer(int valeur) {
+        if (bitmap != null) {
+            boolean retire = bitmap.retirer(valeur);
+            if (retire && bitmap.cardinalite() < seuil / 2) {
+                convertirEnTableau();
+            }
+            return retire;
+        }
+
+        int position = Arrays.binarySearch(tableau, 0, taille, valeur);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(tableau, position + 1, tableau, position, taille - position - 1);
+        taille--;
+        return true;
+    }
+
+    /**
+     * Retire tous les éléments de l'ensemble.
+     */
+    public void vider() {
+        bitmap = null;
+        tableau = new int[4];
+        taille = 0;
+    }
+
+    /**
+     * Applique une action à chaque élément, en ordre croissant.
+     *
+     * @param action l'action à appliquer
+     */
+    public void pourChaque(IntConsumer action) {
+        if (bitmap != null) {
+            bitmap.pourChaque(action);
+            return;
+        }
+        for (int i = 0; i < taille; i++) {
+            action.accept(tableau[i]);
+        }
+    }
+
+    /**
+     * Retourne les éléments de l'ensemble dans un nouveau tableau trié.
+     *
+     * @return les éléments en ordre croissant
+     */
+    public int[] versTableau() {
+        if (bitmap == null) {
+            return Arrays.copyOf(tableau, taille);
+        }
+        int[] valeurs = new int[bitmap.cardinalite()];
+        int[] position = {0};
+        bitmap.pourChaque(v -> valeurs[position[0]++] = v);
+        return valeurs;
+    }
+
+    /**
+     * Calcule l'intersection de deux ensembles, sans modifier ni l'un ni l'autre.
+     *
+     * @param a le premier ensemble
+     * @param b le second ensemble
+     * @return un nouvel ensemble contenant les éléments communs
+     */
+    public static EnsembleEntiers intersection(EnsembleEntiers a, EnsembleEntiers b) {
+        if (a.bitmap != null && b.bitmap != null) {
+            return depuisBitmap(BitmapCompresse.intersection(a.bitmap, b.bitmap), a.seuil);
+        }
+
+        // Au moins un tableau : filtrer le plus petit par l'autre
+        EnsembleEntiers petit = a.taille() <= b.taille() ? a : b;
+        EnsembleEntiers grand = petit == a ? b : a;
+        if (petit.bitmap != null) {
+            EnsembleEntiers tmp = petit;
+            petit = grand;
+            grand = tmp;
+        }
+
+        int[] valeurs = new int[petit.taille];
+        int total = 0;
+        if (grand.bitmap == null) {
+            // Fusion de deux tableaux triés
+            int i = 0, j = 0;
+            while (i < petit.taille && j < grand.taille) {
+                if (petit.tableau[i] < grand.tableau[j]) {
+                    i++;
+                } else if (petit.tableau[i] > grand.tableau[j]) {
+                    j++;
+                } else {
+                    valeurs[total++] = petit.tableau[i];
+                    i++;
+                    j++;
+                }
+            }
+        } else {
+            for (int i = 0; i < petit.taille; i++) {
+                if (grand.bitmap.contient(petit.tableau[i])) {
+                    valeurs[total++] = petit.tableau[i];
+                }
+            }
+        }
+        return depuisTableauTrie(valeurs, total, a.seuil);
+    }
+
+    /**
+     * Calcule l'union de deux ensembles, sans modifier ni l'un ni l'autre.
+     *
+     * @param a le premier ensemble
+     * @param b le second ensemble
+     * @return un nouvel ensemble contenant les éléments des deux ensembles
+     */
+    public static EnsembleEntiers union(EnsembleEntiers a, EnsembleEntiers b) {
+        if (a.bitmap == null && b.bitmap == null) {
+            // Fusion de deux tableaux triés
+            int[] valeurs = new int[a.taille + b.taille];
+            int i = 0, j = 0, total = 0;
+            while (i < a.taille || j < b.taille) {
+                if (j == b.taille || i < a.taille && a.tableau[i] < b.tableau[j]) {
+                    valeurs[total++] = a.tableau[i++];
+                } else if (i == a.taille || a.tableau[i] > b.tableau[j]) {
+                    valeurs[total++] = b.tableau[j++];
+                } else {
+                    valeurs[total++] = a.tableau[i];
+                    i++;
+                    j++;
+                }
+            }
+            return depuisTableauTrie(valeurs, total, a.seuil);
+        }
+
+        BitmapCompresse resultat = BitmapCompresse.union(a.enBitmap(), b.enBitmap());
+        return depuisBitmap(resultat, a.seuil);
+    }
+
+    /**
+     * Compte les éléments communs à deux ensembles.
+     *
+     * @param a le premier ensemble
+     * @param b le second ensemble
+     * @return la cardinalité de l'intersection
+     */
+    public static int tailleIntersection(EnsembleEntiers a, EnsembleEntiers b) {
+        EnsembleEntiers petit = a.taille() <= b.taille() ? a : b;
+        EnsembleEntiers grand = petit == a ? b : a;
+        if (petit.bitmap != null) {
+            return intersection(a, b).taille();
+        }
+        int total = 0;
+        for (int i = 0; i < petit.taille; i++) {
+            if (grand.contient(petit.tableau[i])) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Retourne le contenu de cet ensemble sous forme de bitmap (sans copie en mode bitmap).
+     */
+    private BitmapCompresse enBitmap() {
+        if (bitmap != null) {
+            return bitmap;
+        }
+        BitmapCompresse resultat = new BitmapCompresse();
+        for (int i = 0; i < taille; i++) {
+            resultat.ajouter(tableau[i]);
+        }
+        return resultat;
+    }
+
+    /**
+     * Passe du mode tableau au mode bitmap.
+     */
+    private void convertirEnBitmap() {
+        bitmap = enBitmap();
+        tableau = null;
+        taille = 0;
+    }
+
+    /**
+     * Passe du mode bitmap au mode tableau.
+     */
+    private void convertirEnTableau() {
+        int[] valeurs = versTableau();
+        bitmap = null;
+        tableau = valeurs.length > 0 ? valeurs : new int[4];
+        taille = valeurs.length;
+    }
+
+    /**
+     * Crée un ensemble à partir des {@code nombre} premières valeurs d'un tableau trié sans doublons.
+     */
+    private static EnsembleEntiers depuisTableauTrie(int[] valeurs, int nombre, int seuil) {
+        EnsembleEntiers resultat = new EnsembleEntiers(seuil);
+        if (nombre > seuil) {
+            BitmapCompresse bitmap = new BitmapCompresse();
+            for (int i = 0; i < nombre; i++) {
+                bitmap.ajouter(valeurs[i]);
+            }
+            resultat.bitmap = bitmap;
+            resultat.tableau = null;
+        } else {
+            resultat.tableau = nombre > 0 ? Arrays.copyOf(valeurs, nombre) : new int[4];
+            resultat.taille = nombre;
+        }
+        return resultat;
+    }
+
+    /**
+     * Crée un ensemble à partir d'un bitmap, converti en tableau s'il est assez petit.
+     */
+    private static EnsembleEntiers depuisBitmap(BitmapCompresse bitmap, int seuil) {
+        EnsembleEntiers resultat = new EnsembleEntiers(seuil);
+        resultat.bitmap = bitmap;
+        resultat.tableau = null;
+        if (bitmap.cardinalite() <= seuil) {
+            resultat.convertirEnTableau();
+        }
+        return resultat;
+    }
+}
@@ -0,0 +1,90 @@
+package reseau;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Graphe partiel lu à partir d'un seul fichier (fragment) au format de {@code reseau.json}.
+ * <p>
+ * Chaque nom d'utilisateur rencontré (défini dans le fragment ou seulement cité comme abonnement)
+ * reçoit un identifiant local. Les abonnements sont conservés sous forme de paires d'identifiants
+ * locaux dans des tableaux primitifs, en attendant la fusion dans un {@link CivixNet} par
+ * {@link ReseauBuilder}, qui fait correspondre chaque identifiant local à un identifiant global.
+ * </p>
+ */
+final class FragmentReseau {
+
+    final List<String> noms = new ArrayList<>();              // Noms par identifiant local
+    final List<String> motsDePasse = new ArrayList<>();       // Mot de passe, ou null si l'utilisateur n'est que cité
+    private final Map<String, Integer> ids = new HashMap<>(); // Identifiants locaux par nom
+    int[] arcsDe = new int[16];                               // Source de chaque abonnement (identifiant local)
+    int[] arcsVers = new int[16];                             // Cible de chaque abonnement (identifiant local)
+    int nombreArcs;
+
+    /**
+     * Lit un fragment à partir d'un fichier JSON.
+     *
+     * @param cheminFichier le chemin vers le fichier JSON
+     * @return le fragment lu
+     * @throws IOException si le fichier est introuvable ou mal formé
+     * @throws Exception   si le fichier ne contient pas de tableau d'utilisateurs
+     */
+    static FragmentReseau lire(String cheminFichier) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        FragmentReseau fragment = new FragmentReseau();
+
+        try (FileReader reader = new FileReader(cheminFichier)) {
+            JsonNode utilisateursNode = mapper.readTree(reader).get("utilisateurs");
+            if (utilisateursNode == null || !utilisateursNode.isArray()) {
+                throw new Exception("Le fragment " + cheminFichier + " ne contient aucun utilisateur");
+            }
+
+            for (JsonNode u : utilisateursNode) {
+                int id = fragment.interner(u.get("username").asText());
+                fragment.motsDePasse.set(id, u.get("password").asText());
+            }
+
+            for (JsonNode u : utilisateursNode) {
+                int de = fragment.interner(u.get("username").asText());
+                JsonNode abonnementsNode = u.get("abonnements");
+                if (abonnementsNode != null && abonnementsNode.isArray()) {
+                    for (JsonNode ab : abonnementsNode) {
+                        fragment.ajouterArc(de, fragment.interner(ab.asText()));
+                    }
+                }
+            }
+        }
+        return fragment;
+    }
+
+    /**
+     * Retourne l'identifiant local d'un nom, en l'attribuant au besoin.
+     */
+    private int interner(String nom) {
+        Integer id = ids.get(nom);
+        if (id == null) {
+            id = noms.size();
+            ids.put(nom, id);
+            noms.add(nom);
+            motsDePasse.add(null);
+        }
+        return id;
+    }
+
+    /**
+     * Ajoute un abonnement entre deux identifiants locaux.
+     */
+    private void ajouterArc(int de, int vers) {
+        if (nombreArcs == arcsDe.length) {
+            arcsDe = Arrays.copyOf(arcsDe, nombreArcs * 2);
+            arcsVers = Arrays.copyOf(arcsVers, nombreArcs * 2);
+        }
+        arcsDe[nombreArcs] = de;
+        arcsVers[nombreArcs] = vers;
+        nombreArcs++;
+    }
+}
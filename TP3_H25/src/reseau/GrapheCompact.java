@@ -0,0 +1,221 @@
+package reseau;
+
+import java.util.*;
+
+/**
+ * La classe {@code GrapheCompact} est un instantané en lecture seule du graphe d'abonnements
+ * d'un {@link CivixNet}, stocké sous forme de tableaux primitifs (format CSR).
+ * <p>
+ * Chaque utilisateur reçoit un identifiant entier entre {@code 0} et {@code nombreSommets() - 1},
+ * attribué selon l'ordre alphabétique des noms d'utilisateur. Les abonnements du sommet {@code i}
+ * occupent les cases {@code debut(i)} à {@code fin(i) - 1} du tableau des cibles, triées en ordre croissant.
+ * </p>
+ * <p>
+ * Cette représentation évite les objets intermédiaires et permet de parcourir des graphes de
+ * plusieurs millions d'arcs sans pression sur le ramasse-miettes.
+ * </p>
+ */
+public final class GrapheCompact {
+
+    private final Utilisateur[] utilisateurs;  // Utilisateurs indexés par identifiant, en ordre alphabétique
+    private final int[] debuts;                // debuts[i] = position du premier abonnement du sommet i (taille n + 1)
+    private final int[] cibles;                // Identifiants des utilisateurs suivis, concaténés sommet par sommet
+
+    /**
+     * Constructeur privé. Utiliser {@link #depuis(CivixNet)} pour créer un instantané.
+     *
+     * @param utilisateurs les utilisateurs triés
+     * @param debuts       les positions de début de chaque liste d'abonnements
+     * @param cibles       les identifiants des utilisateurs suivis
+     */
+    private GrapheCompact(Utilisateur[] utilisateurs, int[] debuts, int[] cibles) {
+        this.utilisateurs = utilisateurs;
+        this.debuts = debuts;
+        this.cibles = cibles;
+    }
+
+    /**
+     * Construit un instantané compact du réseau donné.
+     * Les abonnements vers des utilisateurs absents du réseau sont ignorés.
+     *
+     * @param reseau le réseau à convertir
+     * @return le graphe compact correspondant
+     */
+    public static GrapheCompact depuis(CivixNet reseau) {
+        return depuis(reseau.stockage());
+    }
+
+    /**
+     * Construit un instantané compact d'un stockage de graphe.
+     * Les abonnements vers des utilisateurs absents du stockage sont ignorés.
+     *
+     * @param stockage le stockage à convertir
+     * @return le graphe compact correspondant
+     */
+    public static GrapheCompact depuis(StockageGraphe stockage) {
+        Utilisateur[] utilisateurs = stockage.utilisateurs().toArray(new Utilisateur[0]);
+        Arrays.sort(utilisateurs);
+        // Identifiants attribués une seule fois ; chaque arc est ensuite résolu par identité
+        Map<Utilisateur, Integer> identifiants = new IdentityHashMap<>(2 * utilisateurs.length);
+        for (int i = 0; i < utilisateurs.length; i++) {
+            identifiants.put(utilisateurs[i], i);
+        }
+
+        int[] debuts = new int[utilisateurs.length + 1];
+        int[] cibles = new int[16];
+        int total = 0;
+
+        for (int i = 0; i < utilisateurs.length; i++) {
+            debuts[i] = total;
+            for (Utilisateur abonnement : stockage.abonnements(utilisateurs[i])) {
+                Integer id = identifiants.get(abonnement);
+                // Instance différente de celle du stockage : recherche par nom, comme Utilisateur.compareTo
+                int j = id != null ? id : Arrays.binarySearch(utilisateurs, abonnement);
+                if (j < 0) {
+                    continue;
+                }
+                if (total == cibles.length) {
+                    cibles = Arrays.copyOf(cibles, cibles.length * 2);
+                }
+                cibles[total++] = j;
+            }
+            Arrays.sort(cibles, debuts[i], total);
+        }
+        debuts[utilisateurs.length] = total;
+
+        return new GrapheCompact(utilisateurs, debuts, Arrays.copyOf(cibles, total));
+    }
+
+    /**
+     * Retourne le graphe transposé, où chaque arc u → v devient v → u.
+     * Les listes du graphe transposé représentent donc les abonnés de chaque utilisateur.
+     *
+     * @return un nouveau graphe compact transposé
+     */
+    public GrapheCompact transpose() {
+        int n = utilisateurs.length;
+        int[] debutsT = new int[n + 1];
+
+        // Compter les degrés entrants
+        for (int cible : cibles) {
+            debutsT[cible + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            debutsT[i + 1] += debutsT[i];
+        }
+
+        // Les sommets sont parcourus en ordre croissant : chaque liste transposée reste triée
+        int[] curseurs = Arrays.copyOf(debutsT, n);
+        int[] ciblesT = new int[cibles.length];
+        for (int i = 0; i < n; i++) {
+            for (int k = debuts[i]; k < debuts[i + 1]; k++) {
+                ciblesT[curseurs[cibles[k]]++] = i;
+            }
+        }
+
+        return new GrapheCompact(utilisateurs, debutsT, ciblesT);
+    }
+
+    /**
+     * Retourne le nombre de sommets (utilisateurs) du graphe.
+     *
+     * @return le nombre de sommets
+     */
+    public int nombreSommets() {
+        return utilisateurs.length;
+    }
+
+    /**
+     * Retourne le nombre d'arcs (abonnements) du graphe.
+     *
+     * @return le nombre d'arcs
+     */
+    public int nombreArcs() {
+        return cibles.length;
+    }
+
+    /**
+     * Retourne l'utilisateur associé à un identifiant.
+     *
+     * @param id l'identifiant du sommet
+     * @return l'utilisateur correspondant
+     */
+    public Utilisateur utilisateur(int id) {
+        return utilisateurs[id];
+    }
+
+    /**
+     * Retourne l'identifiant d'un utilisateur dans ce graphe.
+     *
+     * @param u l'utilisateur recherché
+     * @return son identifiant, ou {@code -1} s'il n'appartient pas au graphe
+     */
+    public int indexDe(Utilisateur u) {
+        int i = Arrays.binarySearch(utilisateurs, u);
+        return i >= 0 ? i : -1;
+    }
+
+    /**
+     * Retourne l'identifiant de l'utilisateur portant un nom donné, en ignorant la casse.
+     *
+     * @param username le nom d'utilisateur recherché
+     * @return son identifiant, ou {@code -1} s'il n'appartient pas au graphe
+     */
+    int indexDe(String username) {
+        int bas = 0;
+        int haut = utilisateurs.length - 1;
+        while (bas <= haut) {
+            int milieu = (bas + haut) >>> 1;
+            int compare = utilisateurs[milieu].getUsername().compareToIgnoreCase(username);
+            if (compare < 0) {
+                bas = milieu + 1;
+            } else if (compare > 0) {
+                haut = milieu - 1;
+            } else {
+                return milieu;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retourne la position du premier abonnement du sommet donné dans le tableau des cibles.
+     *
+     * @param id l'identifiant du sommet
+     * @return la position de début (incluse)
+     */
+    public int debut(int id) {
+        return debuts[id];
+    }
+
+    /**
+     * Retourne la position suivant le dernier abonnement du sommet donné.
+     *
+     * @param id l'identifiant du sommet
+     * @return la position de fin (exclue)
+     */
+    public int fin(int id) {
+        return debuts[id + 1];
+    }
+
+    /**
+     * Retourne l'identifiant de la cible de l'arc situé à la position donnée.
+     *
+     * @param position une position comprise entre {@code debut(i)} et {@code fin(i) - 1}
+     * @return l'identifiant de l'utilisateur suivi
+     */
+    public int cible(int position) {
+        return cibles[position];
+    }
+
+    /**
+     * Vérifie si le sommet {@code de} suit le sommet {@code vers}, par recherche dichotomique.
+     *
+     * @param de   l'identifiant de l'utilisateur qui suit
+     * @param vers l'identifiant de l'utilisateur suivi
+     * @return {@code true} si l'arc existe, sinon {@code false}
+     */
+    public boolean suit(int de, int vers) {
+        return Arrays.binarySearch(cibles, debuts[de], debuts[de + 1], vers) >= 0;
+    }
+}
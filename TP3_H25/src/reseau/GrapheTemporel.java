@@ -0,0 +1,624 @@
+package reseau;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * La classe {@code GrapheTemporel} conserve les abonnements avec l'instant de leur création,
+ * pour répondre à des requêtes limitées à une fenêtre de temps (« portée au temps T »,
+ * « propagation par les abonnements des dernières 24 heures »).
+ * <p>
+ * Pour chaque utilisateur, les abonnements sont stockés dans deux tableaux parallèles triés par instant :
+ * un {@code long[]} des instants et un {@code int[]} des identifiants suivis. Les abonnements d'une fenêtre
+ * {@code [debut, fin]} forment donc une tranche contiguë, trouvée par recherche dichotomique. Un index
+ * trié par identifiant suivi donne l'instant de chaque abonnement : vérifier un abonnement ne demande qu'une
+ * recherche dichotomique, et sa position dans l'ordre des instants s'en déduit.
+ * </p>
+ * <p>
+ * Seuls les abonnements actuels sont conservés, avec l'instant de leur création : un abonnement retiré
+ * disparaît sans laisser de trace, et un abonnement expiré puis renouvelé ne garde que son nouvel instant.
+ * Les fenêtres de temps filtrent donc les abonnements actuels selon leur création ; elles ne reconstituent
+ * pas l'état passé du réseau.
+ * </p>
+ * <p>
+ * Comme dans {@link StockageTableaux}, deux utilisateurs sont équivalents lorsque leurs noms sont égaux
+ * en ignorant la casse.
+ * </p>
+ * <p>
+ * Un abonnement expire lorsque son instant est antérieur à {@code maintenant - retention}. Les abonnements
+ * expirés sont ignorés par toutes les requêtes, puis retirés des tableaux par {@link #compacter()}, qui peut
+ * être exécuté périodiquement en arrière-plan avec {@link #demarrerCompaction(long, TimeUnit)}.
+ * </p>
+ * <p>
+ * Les instants sont exprimés en millisecondes, selon l'horloge fournie. La classe peut être utilisée
+ * par plusieurs fils : les requêtes partagent un verrou en lecture, les modifications prennent le verrou
+ * en écriture, et la compaction ne le prend en écriture que pour les utilisateurs qui ont des abonnements expirés,
+ * un à la fois, afin de ne pas bloquer les requêtes longtemps.
+ * </p>
+ */
+public final class GrapheTemporel implements AutoCloseable {
+
+    /**
+     * Rétention illimitée : aucun abonnement n'expire.
+     */
+    public static final long RETENTION_ILLIMITEE = Long.MAX_VALUE;
+
+    private final long retention;
+    private final LongSupplier horloge;
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock();
+
+    private final RegistreUtilisateurs registre = new RegistreUtilisateurs();  // Identifiants des utilisateurs
+    private long[][] instants = new long[16][];                 // Instants des abonnements, triés, par utilisateur
+    private int[][] cibles = new int[16][];                     // Utilisateurs suivis, dans l'ordre des instants
+    private int[] tailles = new int[16];                        // Nombre d'abonnements de chaque utilisateur
+    private int[][] ciblesTriees = new int[16][];               // Utilisateurs suivis, triés par identifiant
+    private long[][] instantsDesCibles = new long[16][];        // Instant de l'abonnement à chaque cible triée
+
+    private ScheduledExecutorService compaction;
+
+    /**
+     * Constructeur. Crée un graphe sans expiration, utilisant l'horloge système.
+     */
+    public GrapheTemporel() {
+        this(RETENTION_ILLIMITEE, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructeur.
+     *
+     * @param retention la durée de vie d'un abonnement, en millisecondes, ou {@link #RETENTION_ILLIMITEE}
+     * @param horloge   l'horloge donnant l'instant courant, en millisecondes
+     * @throws IllegalArgumentException si la rétention est négative
+     */
+    public GrapheTemporel(long retention, LongSupplier horloge) {
+        if (retention < 0) {
+            throw new IllegalArgumentException("La rétention est invalide.");
+        }
+        this.retention = retention;
+        this.horloge = horloge;
+    }
+
+    /**
+     * Crée un graphe temporel à partir des abonnements actuels d'un réseau, datés de l'instant donné.
+     *
+     * @param reseau    le réseau source
+     * @param instant   l'instant attribué à tous les abonnements
+     * @param retention la durée de vie d'un abonnement, en millisecondes
+     * @param horloge   l'horloge donnant l'instant courant
+     * @return le graphe temporel
+     */
+    public static GrapheTemporel depuis(CivixNet reseau, long instant, long retention, LongSupplier horloge) {
+        GrapheTemporel graphe = new GrapheTemporel(retention, horloge);
+        for (Utilisateur u : reseau.utilisateurs()) {
+            graphe.ajouterUtilisateur(u);
+        }
+        for (Utilisateur u : reseau.utilisateurs()) {
+            for (Utilisateur abonnement : reseau.abonnementsDe(u)) {
+                graphe.ajouterAbonnement(u, abonnement, instant);
+            }
+        }
+        return graphe;
+    }
+
+    /**
+     * Enregistre un utilisateur. L'opération est ignorée si un utilisateur équivalent existe déjà.
+     *
+     * @param u l'utilisateur à enregistrer
+     * @return {@code true} si l'utilisateur a été ajouté
+     */
+    public boolean ajouterUtilisateur(Utilisateur u) {
+        verrou.writeLock().lock();
+        try {
+            int nombre = registre.nombre();
+            if (registre.enregistrer(u) < nombre) {
+                return false;
+            }
+            if (nombre == tailles.length) {
+                int capacite = tailles.length * 2;
+                instants = Arrays.copyOf(instants, capacite);
+                cibles = Arrays.copyOf(cibles, capacite);
+                tailles = Arrays.copyOf(tailles, capacite);
+                ciblesTriees = Arrays.copyOf(ciblesTriees, capacite);
+                instantsDesCibles = Arrays.copyOf(instantsDesCibles, capacite);
+            }
+            instants[nombre] = new long[4];
+            cibles[nombre] = new int[4];
+            ciblesTriees[nombre] = new int[4];
+            instantsDesCibles[nombre] = new long[4];
+            return true;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche un utilisateur par son nom, en ignorant la casse comme l'enregistrement.
+     *
+     * @param username le nom d'utilisateur recherché
+     * @return l'utilisateur enregistré, ou {@code null} s'il n'existe pas
+     */
+    public Utilisateur chercher(String username) {
+        verrou.readLock().lock();
+        try {
+            int id = registre.idDuNom(username);
+            return id >= 0 ? registre.utilisateur(id) : null;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retourne le nombre d'utilisateurs enregistrés.
+     *
+     * @return le nombre d'utilisateurs
+     */
+    public int nombreUtilisateurs() {
+        verrou.readLock().lock();
+        try {
+            return registre.nombre();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retourne le nombre d'abonnements conservés, y compris les abonnements expirés pas encore compactés.
+     *
+     * @return le nombre d'abonnements stockés
+     */
+    public long nombreAbonnements() {
+        verrou.readLock().lock();
+        try {
+            long total = 0;
+            for (int i = 0; i < registre.nombre(); i++) {
+                total += tailles[i];
+            }
+            return total;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Abonne un utilisateur à un autre à l'instant donné. Si l'abonnement existe déjà et n'a pas expiré,
+     * l'opération est ignorée et l'instant d'origine est conservé ; s'il a expiré, il est renouvelé.
+     * L'opération est aussi ignorée si l'un des deux utilisateurs n'est pas enregistré.
+     *
+     * @param compte  l'utilisateur qui souhaite suivre
+     * @param cible   l'utilisateur à suivre
+     * @param instant l'instant de l'abonnement, en millisecondes
+     * @return {@code true} si l'abonnement a été ajouté ou renouvelé
+     */
+    public boolean ajouterAbonnement(Utilisateur compte, Utilisateur cible, long instant) {
+        verrou.writeLock().lock();
+        try {
+            int de = id(compte);
+            int vers = id(cible);
+            if (de < 0 || vers < 0) {
+                return false;
+            }
+            int index = indexDe(de, vers);
+            if (index >= 0) {
+                if (instantsDesCibles[de][index] >= limiteExpiration()) {
+                    return false;
+                }
+                supprimer(de, vers);
+            }
+            inserer(de, vers, instant);
+            return true;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire un abonnement. L'opération est ignorée si l'abonnement n'existe pas.
+     * L'abonnement est supprimé avec son instant : il n'apparaît plus dans aucune fenêtre, même antérieure.
+     *
+     * @param compte l'utilisateur qui arrête de suivre
+     * @param cible  l'utilisateur à ne plus suivre
+     * @return {@code true} si l'abonnement a été retiré
+     */
+    public boolean retirerAbonnement(Utilisateur compte, Utilisateur cible) {
+        verrou.writeLock().lock();
+        try {
+            int de = id(compte);
+            int vers = id(cible);
+            if (de < 0 || vers < 0 || indexDe(de, vers) < 0) {
+                return false;
+            }
+            supprimer(de, vers);
+            return true;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vérifie si un utilisateur en suit actuellement un autre par un abonnement créé dans la fenêtre
+     * {@code [debut, fin]}.
+     *
+     * @param compte l'utilisateur qui suit
+     * @param cible  l'utilisateur suivi
+     * @param debut  le début de la fenêtre (inclus)
+     * @param fin    la fin de la fenêtre (incluse)
+     * @return {@code true} si un tel abonnement existe et n'a pas expiré
+     */
+    public boolean suit(Utilisateur compte, Utilisateur cible, long debut, long fin) {
+        verrou.readLock().lock();
+        try {
+            int de = id(compte);
+            int vers = id(cible);
+            return de >= 0 && vers >= 0 && suitDans(de, vers, Math.max(debut, limiteExpiration()), fin);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vérifie si deux utilisateurs se suivent mutuellement par des abonnements actuels créés dans la fenêtre
+     * {@code [debut, fin]}. Par exemple, {@code (Long.MIN_VALUE, t)} indique si les deux abonnements actuels
+     * existaient déjà au temps {@code t} ; un abonnement retiré depuis n'est pas pris en compte.
+     *
+     * @param u1    le premier utilisateur
+     * @param u2    le second utilisateur
+     * @param debut le début de la fenêtre (inclus)
+     * @param fin   la fin de la fenêtre (incluse)
+     * @return {@code true} si chacun suit l'autre dans la fenêtre
+     */
+    public boolean abonnementMutuel(Utilisateur u1, Utilisateur u2, long debut, long fin) {
+        verrou.readLock().lock();
+        try {
+            int a = id(u1);
+            int b = id(u2);
+            long borne = Math.max(debut, limiteExpiration());
+            return a >= 0 && b >= 0 && suitDans(a, b, borne, fin) && suitDans(b, a, borne, fin);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retourne les utilisateurs suivis par des abonnements créés dans la fenêtre {@code [debut, fin]},
+     * du plus ancien au plus récent.
+     *
+     * @param compte l'utilisateur concerné
+     * @param debut  le début de la fenêtre (inclus)
+     * @param fin    la fin de la fenêtre (incluse)
+     * @return une nouvelle liste des utilisateurs suivis
+     */
+    public List<Utilisateur> abonnementsEntre(Utilisateur compte, long debut, long fin) {
+        verrou.readLock().lock();
+        try {
+            int de = id(compte);
+            if (de < 0) {
+                return new ArrayList<>();
+            }
+            int bas = borneInferieure(instants[de], tailles[de], Math.max(debut, limiteExpiration()));
+            int haut = borneSuperieure(instants[de], tailles[de], fin);
+            List<Utilisateur> resultat = new ArrayList<>(Math.max(0, haut - bas));
+            for (int i = bas; i < haut; i++) {
+                resultat.add(registre.utilisateur(cibles[de][i]));
+            }
+            return resultat;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retourne les utilisateurs atteints par une fausse information lancée par {@code source}, en ne suivant
+     * que les abonnements créés dans la fenêtre {@code [debut, fin]}. L'information se propage de chaque
+     * utilisateur vers les comptes qu'il suit, et le résultat est trié en ordre alphabétique inverse.
+     * <p>
+     * Le parcours se fait en largeur : chaque utilisateur est atteint à sa distance minimale de la source.
+     * Avec une fenêtre couvrant tous les abonnements et deux niveaux, le résultat est donc le même que celui de
+     * {@link CivixNet#propagationFausseInformationRecursive(String)}, qui compte aussi chaque utilisateur
+     * à son niveau minimal.
+     * </p>
+     *
+     * @param source    l'utilisateur à l'origine de la fausse information
+     * @param debut     le début de la fenêtre (inclus)
+     * @param fin       la fin de la fenêtre (incluse)
+     * @param niveauMax le nombre maximal de niveaux de propagation (0 pour la source seule)
+     * @return une nouvelle liste des utilisateurs atteints, source comprise
+     * @throws IllegalArgumentException si le niveau maximal est négatif
+     * @throws RuntimeException         si la source n'est pas enregistrée
+     */
+    public ArrayList<Utilisateur> propagation(Utilisateur source, long debut, long fin, int niveauMax) {
+        if (niveauMax < 0) {
+            throw new IllegalArgumentException("Le niveau maximal est invalide.");
+        }
+        ArrayList<Utilisateur> atteints = new ArrayList<>();
+
+        verrou.readLock().lock();
+        try {
+            int depart = id(source);
+            if (depart < 0) {
+                throw new RuntimeException("Utilisateur introuvable");
+            }
+            long borne = Math.max(debut, limiteExpiration());
+            BitSet visites = new BitSet(registre.nombre());
+            int[] frontiere = {depart};
+            int tailleFrontiere = 1;
+            visites.set(depart);
+            atteints.add(registre.utilisateur(depart));
+
+            for (int niveau = 0; niveau < niveauMax && tailleFrontiere > 0; niveau++) {
+                int[] suivante = new int[16];
+                int tailleSuivante = 0;
+                for (int f = 0; f < tailleFrontiere; f++) {
+                    int u = frontiere[f];
+                    int haut = borneSuperieure(instants[u], tailles[u], fin);
+                    for (int i = borneInferieure(instants[u], tailles[u], borne); i < haut; i++) {
+                        int v = cibles[u][i];
+                        if (!visites.get(v)) {
+                            visites.set(v);
+                            atteints.add(registre.utilisateur(v));
+                            if (tailleSuivante == suivante.length) {
+                                suivante = Arrays.copyOf(suivante, tailleSuivante * 2);
+                            }
+                            suivante[tailleSuivante++] = v;
+                        }
+                    }
+                }
+                frontiere = suivante;
+                tailleFrontiere = tailleSuivante;
+            }
+        } finally {
+            verrou.readLock().unlock();
+        }
+
+        atteints.sort(Utilisateur.ORDRE_ALPHABETIQUE_INVERSE);
+        return atteints;
+    }
+
+    /**
+     * Construit un réseau contenant les utilisateurs et les abonnements créés dans la fenêtre
+     * {@code [debut, fin]}, pour y appliquer les analyses de {@link CivixNet} (communautés, recommandations...).
+     *
+     * @param debut le début de la fenêtre (inclus)
+     * @param fin   la fin de la fenêtre (incluse)
+     * @return un nouveau réseau, dans un {@link StockageTableaux}
+     */
+    public CivixNet instantane(long debut, long fin) {
+        StockageTableaux stockage = new StockageTableaux();
+        verrou.readLock().lock();
+        try {
+            long borne = Math.max(debut, limiteExpiration());
+            int nombre = registre.nombre();
+            for (int u = 0; u < nombre; u++) {
+                stockage.ajouterUtilisateur(registre.utilisateur(u));  // Mêmes identifiants : enregistrés dans le même ordre
+            }
+            for (int u = 0; u < nombre; u++) {
+                int haut = borneSuperieure(instants[u], tailles[u], fin);
+                for (int i = borneInferieure(instants[u], tailles[u], borne); i < haut; i++) {
+                    stockage.ajouterAbonnement(registre.utilisateur(u), registre.utilisateur(cibles[u][i]));
+                }
+            }
+        } finally {
+            verrou.readLock().unlock();
+        }
+        return new CivixNet(stockage);
+    }
+
+    /**
+     * Retire les abonnements expirés. Les utilisateurs concernés sont d'abord repérés sous le verrou en lecture :
+     * comme les abonnements de chaque utilisateur sont triés par instant, il suffit de comparer le plus ancien
+     * à la limite d'expiration. Le verrou en écriture n'est ensuite pris que pour ces utilisateurs, un à la fois.
+     * Pour chacun, les abonnements expirés forment un préfixe, retiré d'un seul décalage ; l'index par cible
+     * est filtré en un seul passage, et les tableaux devenus trop grands sont réduits.
+     *
+     * @return le nombre d'abonnements retirés
+     */
+    public long compacter() {
+        int[] candidats = new int[16];
+        int nombreCandidats = 0;
+        verrou.readLock().lock();
+        try {
+            long limite = limiteExpiration();
+            for (int u = 0; u < registre.nombre(); u++) {
+                if (tailles[u] > 0 && instants[u][0] < limite) {
+                    if (nombreCandidats == candidats.length) {
+                        candidats = Arrays.copyOf(candidats, nombreCandidats * 2);
+                    }
+                    candidats[nombreCandidats++] = u;
+                }
+            }
+        } finally {
+            verrou.readLock().unlock();
+        }
+
+        long retires = 0;
+        for (int c = 0; c < nombreCandidats; c++) {
+            int u = candidats[c];
+            verrou.writeLock().lock();  // Repris pour chaque candidat : les requêtes peuvent s'intercaler
+            try {
+                long limite = limiteExpiration();
+                int expires = borneInferieure(instants[u], tailles[u], limite);  // Recalculé : le graphe a pu changer
+                if (expires == 0) {
+                    continue;
+                }
+                int restants = tailles[u] - expires;
+
+                // Index par cible : conserver, dans l'ordre, les abonnements non expirés
+                int[] triees = ciblesTriees[u];
+                long[] instantsTries = instantsDesCibles[u];
+                int conserves = 0;
+                for (int k = 0; k < tailles[u]; k++) {
+                    if (instantsTries[k] >= limite) {
+                        triees[conserves] = triees[k];
+                        instantsTries[conserves++] = instantsTries[k];
+                    }
+                }
+
+                if (restants < instants[u].length / 4) {
+                    int capacite = Math.max(4, restants * 2);
+                    instants[u] = Arrays.copyOfRange(instants[u], expires, expires + capacite);
+                    cibles[u] = Arrays.copyOfRange(cibles[u], expires, expires + capacite);
+                    ciblesTriees[u] = Arrays.copyOf(triees, capacite);
+                    instantsDesCibles[u] = Arrays.copyOf(instantsTries, capacite);
+                } else {
+                    System.arraycopy(instants[u], expires, instants[u], 0, restants);
+                    System.arraycopy(cibles[u], expires, cibles[u], 0, restants);
+                }
+                tailles[u] = restants;
+                retires += expires;
+            } finally {
+                verrou.writeLock().unlock();
+            }
+        }
+        return retires;
+    }
+
+    /**
+     * Démarre la compaction périodique en arrière-plan, sur un fil démon.
+     *
+     * @param periode le délai entre deux compactions
+     * @param unite   l'unité du délai
+     * @throws IllegalStateException si la compaction est déjà démarrée
+     */
+    public synchronized void demarrerCompaction(long periode, TimeUnit unite) {
+        if (compaction != null) {
+            throw new IllegalStateException("La compaction est déjà démarrée.");
+        }
+        compaction = Executors.newSingleThreadScheduledExecutor(tache -> {
+            Thread fil = new Thread(tache, "GrapheTemporel-compaction");
+            fil.setDaemon(true);
+            return fil;
+        });
+        compaction.scheduleWithFixedDelay(this::compacter, periode, periode, unite);
+    }
+
+    /**
+     * Arrête la compaction en arrière-plan, si elle est démarrée.
+     */
+    @Override
+    public synchronized void close() {
+        if (compaction != null) {
+            compaction.shutdownNow();
+            compaction = null;
+        }
+    }
+
+    /**
+     * Retourne l'instant avant lequel un abonnement est expiré.
+     */
+    private long limiteExpiration() {
+        if (retention == RETENTION_ILLIMITEE) {
+            return Long.MIN_VALUE;
+        }
+        long maintenant = horloge.getAsLong();
+        return maintenant - retention > maintenant ? Long.MIN_VALUE : maintenant - retention;
+    }
+
+    /**
+     * Vérifie si {@code de} suit {@code vers} par un abonnement dont l'instant est dans {@code [debut, fin]}.
+     */
+    private boolean suitDans(int de, int vers, long debut, long fin) {
+        int index = indexDe(de, vers);
+        if (index < 0) {
+            return false;
+        }
+        long instant = instantsDesCibles[de][index];
+        return instant >= debut && instant <= fin;
+    }
+
+    /**
+     * Retourne l'indice de {@code vers} dans l'index par cible de {@code de},
+     * ou {@code -(point d'insertion) - 1} si {@code de} ne le suit pas.
+     */
+    private int indexDe(int de, int vers) {
+        return Arrays.binarySearch(ciblesTriees[de], 0, tailles[de], vers);
+    }
+
+    /**
+     * Insère un abonnement à sa place dans l'ordre des instants (après ceux de même instant),
+     * ainsi que dans l'index par cible. L'abonnement ne doit pas déjà exister.
+     */
+    private void inserer(int de, int vers, long instant) {
+        int n = tailles[de];
+        if (n == instants[de].length) {
+            instants[de] = Arrays.copyOf(instants[de], n * 2);
+            cibles[de] = Arrays.copyOf(cibles[de], n * 2);
+            ciblesTriees[de] = Arrays.copyOf(ciblesTriees[de], n * 2);
+            instantsDesCibles[de] = Arrays.copyOf(instantsDesCibles[de], n * 2);
+        }
+        int position = borneSuperieure(instants[de], n, instant);  // Fin du tableau dans le cas courant
+        System.arraycopy(instants[de], position, instants[de], position + 1, n - position);
+        System.arraycopy(cibles[de], position, cibles[de], position + 1, n - position);
+        instants[de][position] = instant;
+        cibles[de][position] = vers;
+
+        int index = -indexDe(de, vers) - 1;
+        System.arraycopy(ciblesTriees[de], index, ciblesTriees[de], index + 1, n - index);
+        System.arraycopy(instantsDesCibles[de], index, instantsDesCibles[de], index + 1, n - index);
+        ciblesTriees[de][index] = vers;
+        instantsDesCibles[de][index] = instant;
+        tailles[de] = n + 1;
+    }
+
+    /**
+     * Supprime l'abonnement de {@code de} vers {@code vers}, qui doit exister. Sa position dans l'ordre
+     * des instants est retrouvée à partir de son instant, parmi les abonnements de même instant.
+     */
+    private void supprimer(int de, int vers) {
+        int n = tailles[de];
+        int index = indexDe(de, vers);
+        int position = borneInferieure(instants[de], n, instantsDesCibles[de][index]);
+        while (cibles[de][position] != vers) {
+            position++;
+        }
+
+        System.arraycopy(instants[de], position + 1, instants[de], position, n - position - 1);
+        System.arraycopy(cibles[de], position + 1, cibles[de], position, n - position - 1);
+        System.arraycopy(ciblesTriees[de], index + 1, ciblesTriees[de], index, n - index - 1);
+        System.arraycopy(instantsDesCibles[de], index + 1, instantsDesCibles[de], index, n - index - 1);
+        tailles[de] = n - 1;
+    }
+
+    /**
+     * Retourne le premier indice dont l'instant est supérieur ou égal à {@code valeur}.
+     */
+    private static int borneInferieure(long[] tableau, int taille, long valeur) {
+        int bas = 0;
+        int haut = taille;
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (tableau[milieu] < valeur) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+        return bas;
+    }
+
+    /**
+     * Retourne le premier indice dont l'instant est strictement supérieur à {@code valeur}.
+     */
+    private static int borneSuperieure(long[] tableau, int taille, long valeur) {
+        int bas = 0;
+        int haut = taille;
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (tableau[milieu] <= valeur) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+        return bas;
+    }
+
+    /**
+     * Retourne l'identifiant d'un utilisateur, ou {@code -1} s'il n'est pas enregistré.
+     */
+    private int id(Utilisateur u) {
+        return registre.id(u);
+    }
+}
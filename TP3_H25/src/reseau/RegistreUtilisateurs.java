@@ -0,0 +1,103 @@
+package reseau;
+
+import java.util.*;
+
+/**
+ * Attribue un identifiant entier à chaque utilisateur enregistré, dans l'ordre d'enregistrement.
+ * <p>
+ * Deux utilisateurs sont équivalents lorsque leurs noms sont égaux en ignorant la casse. Les instances
+ * enregistrées sont retrouvées par identité, sans conversion du nom ; seuls les noms et les instances
+ * équivalentes non enregistrées passent par l'index des noms en minuscules.
+ * </p>
+ * <p>
+ * Classe interne au paquetage : elle est partagée par {@link StockageTableaux} et {@link GrapheTemporel}.
+ * Elle n'est pas synchronisée.
+ * </p>
+ */
+final class RegistreUtilisateurs {
+
+    private Utilisateur[] parId = new Utilisateur[16];                       // Utilisateurs par identifiant
+    private int nombre;                                                      // Nombre d'utilisateurs enregistrés
+    private final Map<String, Integer> parNom = new HashMap<>();             // Identifiants par nom en minuscules
+    private final Map<Utilisateur, Integer> parInstance = new IdentityHashMap<>();  // Identifiants des instances enregistrées
+
+    /**
+     * Retourne la clé d'équivalence d'un nom d'utilisateur (le nom en minuscules).
+     *
+     * @param username le nom d'utilisateur
+     * @return la clé
+     */
+    static String cle(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Enregistre un utilisateur s'il n'existe pas déjà d'utilisateur équivalent.
+     *
+     * @param u l'utilisateur à enregistrer
+     * @return l'identifiant de l'utilisateur (nouveau, ou celui de l'utilisateur équivalent existant)
+     */
+    int enregistrer(Utilisateur u) {
+        int existant = id(u);
+        if (existant >= 0) {
+            return existant;
+        }
+        if (nombre == parId.length) {
+            parId = Arrays.copyOf(parId, nombre * 2);
+        }
+        parId[nombre] = u;
+        parNom.put(cle(u.getUsername()), nombre);
+        parInstance.put(u, nombre);
+        return nombre++;
+    }
+
+    /**
+     * Retourne l'identifiant d'un utilisateur ou d'un utilisateur équivalent.
+     *
+     * @param u l'utilisateur recherché
+     * @return son identifiant, ou {@code -1} s'il n'est pas enregistré
+     */
+    int id(Utilisateur u) {
+        Integer id = parInstance.get(u);
+        return id != null ? id : idDuNom(u.getUsername());
+    }
+
+    /**
+     * Retourne l'identifiant associé à un nom, en ignorant la casse.
+     *
+     * @param username le nom d'utilisateur
+     * @return l'identifiant, ou {@code -1} si aucun utilisateur équivalent n'est enregistré
+     */
+    int idDuNom(String username) {
+        Integer id = parNom.get(cle(username));
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Retourne l'utilisateur enregistré sous un identifiant.
+     *
+     * @param id l'identifiant
+     * @return l'utilisateur
+     */
+    Utilisateur utilisateur(int id) {
+        return parId[id];
+    }
+
+    /**
+     * Retourne le nombre d'utilisateurs enregistrés.
+     *
+     * @return le nombre d'utilisateurs
+     */
+    int nombre() {
+        return nombre;
+    }
+
+    /**
+     * Retourne une vue en lecture seule des utilisateurs, dans l'ordre des identifiants.
+     *
+     * @return les utilisateurs enregistrés
+     */
+    List<Utilisateur> utilisateurs() {
+        return Collections.unmodifiableList(Arrays.asList(parId).subList(0, nombre));
+    }
+}
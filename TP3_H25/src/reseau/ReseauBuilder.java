@@ -2,6 +2,11 @@ package reseau;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,13 +17,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * ainsi que pour le sérialiser et le désérialiser.
  * <p>
  * Cette classe est utilisée pour initialiser un réseau à partir d'un fichier
- * ou pour en sauvegarder l'état sur disque.
+ * ou pour en sauvegarder l'état sur disque. Un réseau peut aussi être réparti en
+ * plusieurs fichiers (fragments), lus en parallèle puis fusionnés.
  * </p>
  */
 public class ReseauBuilder implements Serializable {
 
     /**
-     * Charge un objet {@link CivixNet} à partir d'un fichier JSON.
+     * Charge un objet {@link CivixNet} à partir d'un fichier JSON, dans un {@link StockageTableaux}
+     * (le même stockage par défaut que {@link #chargerFragments(List)}).
      * <p>
      * Le fichier doit contenir une structure JSON avec un tableau d'utilisateurs,
      * chacun ayant un nom, un mot de passe, et une liste d'abonnements.
@@ -43,8 +50,23 @@ public class ReseauBuilder implements Serializable {
      * @throws Exception si le fichier est introuvable, mal formé ou si une erreur d'E/S survient
      */
     public static CivixNet chargerDepuisJSON(String cheminFichier) throws Exception {
+        return chargerDepuisJSON(cheminFichier, new StockageTableaux());
+    }
+
+    /**
+     * Charge un objet {@link CivixNet} à partir d'un fichier JSON, dans le stockage donné.
+     * Pour obtenir un réseau en lecture seule, charger dans un stockage modifiable puis appeler
+     * {@link CivixNet#figer()}.
+     *
+     * @param cheminFichier le chemin absolu ou relatif vers le fichier JSON
+     * @param stockage      le stockage (vide et modifiable) qui recevra les utilisateurs et abonnements
+     * @return un objet {@link CivixNet} reconstruit à partir du fichier
+     * @throws Exception si le fichier est introuvable, mal formé ou si une erreur d'E/S survient
+     * @see #chargerDepuisJSON(String)
+     */
+    public static CivixNet chargerDepuisJSON(String cheminFichier, StockageGraphe stockage) throws Exception {
         ObjectMapper mapper = new ObjectMapper();
-        CivixNet reseau = new CivixNet();
+        CivixNet reseau = new CivixNet(stockage);
 
         try (FileReader reader = new FileReader(cheminFichier)) {
             JsonNode root = mapper.readTree(reader);
@@ -61,18 +83,15 @@ public class ReseauBuilder implements Serializable {
                 for (JsonNode u : utilisateursNode) {
                     String username = u.get("username").asText();
                     Utilisateur utilisateur = reseau.obtenirUtilisateurAPartirDuUsername(username);
-                    List<Utilisateur> abonnements = new ArrayList<>();
                     JsonNode abonnementsNode = u.get("abonnements");
 
                     if (abonnementsNode != null && abonnementsNode.isArray()) {
                         for (JsonNode ab : abonnementsNode) {
                             String abos = ab.asText();
                             Utilisateur abonnement = reseau.obtenirUtilisateurAPartirDuUsername(abos);
-                            abonnements.add(abonnement);
+                            reseau.ajouterAbonnement(utilisateur, abonnement);
                         }
                     }
-
-                    reseau.ajouterAbonnements(utilisateur, abonnements);
                 }
             } else {
                 throw new Exception("L'utilisateur n'existe pas");
@@ -83,6 +102,207 @@ public class ReseauBuilder implements Serializable {
         return reseau;
     }
 
+    /**
+     * Charge un objet {@link CivixNet} à partir de plusieurs fragments JSON (par exemple un fichier par région),
+     * dans un {@link StockageTableaux} (le même stockage par défaut que {@link #chargerDepuisJSON(String)}).
+     *
+     * @param cheminsFichiers les chemins des fragments
+     * @return le réseau fusionné
+     * @throws Exception si un fragment est introuvable ou mal formé, ou si un abonnement cite un utilisateur
+     *                   défini dans aucun fragment
+     * @see #chargerFragments(List, StockageGraphe)
+     */
+    public static CivixNet chargerFragments(List<String> cheminsFichiers) throws Exception {
+        return chargerFragments(cheminsFichiers, new StockageTableaux());
+    }
+
+    /**
+     * Charge un objet {@link CivixNet} à partir de plusieurs fragments JSON, dans le stockage donné.
+     * <p>
+     * Chaque fragment suit la structure de {@link #chargerDepuisJSON(String)}. Les fragments sont lus en parallèle
+     * sur un groupe de fils d'exécution, chacun en un graphe partiel dont les utilisateurs ont des identifiants locaux.
+     * Les noms d'utilisateur sont ensuite internés dans une table globale et les graphes partiels sont fusionnés.
+     * Un abonnement peut citer un utilisateur défini dans un autre fragment. Si un utilisateur est défini dans
+     * plusieurs fragments, la première définition (dans l'ordre des chemins) est conservée.
+     * </p>
+     *
+     * @param cheminsFichiers les chemins des fragments
+     * @param stockage        le stockage (vide et modifiable) qui recevra les utilisateurs et abonnements
+     * @return le réseau fusionné
+     * @throws Exception si un fragment est introuvable ou mal formé, ou si un abonnement cite un utilisateur
+     *                   défini dans aucun fragment
+     */
+    public static CivixNet chargerFragments(List<String> cheminsFichiers, StockageGraphe stockage) throws Exception {
+        List<FragmentReseau> fragments = lireFragments(cheminsFichiers);
+        int[][] correspondances = new int[fragments.size()][];
+        Utilisateur[] utilisateurs = internerUtilisateurs(fragments, correspondances);
+
+        for (Utilisateur u : utilisateurs) {
+            stockage.ajouterUtilisateur(u);
+        }
+        for (int f = 0; f < fragments.size(); f++) {
+            FragmentReseau fragment = fragments.get(f);
+            int[] versGlobal = correspondances[f];
+            for (int k = 0; k < fragment.nombreArcs; k++) {
+                stockage.ajouterAbonnement(utilisateurs[versGlobal[fragment.arcsDe[k]]],
+                        utilisateurs[versGlobal[fragment.arcsVers[k]]]);
+            }
+        }
+        return new CivixNet(stockage);
+    }
+
+    /**
+     * Charge un {@link ReseauPartitionne} à partir de plusieurs fragments JSON.
+     * <p>
+     * Les fragments sont lus et fusionnés comme dans {@link #chargerFragments(List, StockageGraphe)}, puis chaque
+     * utilisateur est attribué à une partition selon {@link ReseauPartitionne#partitionDe(String, int)}.
+     * Les partitions, chacune dans un {@link StockageTableaux}, sont remplies en parallèle.
+     * </p>
+     *
+     * @param cheminsFichiers  les chemins des fragments
+     * @param nombrePartitions le nombre de partitions
+     * @return le réseau partitionné
+     * @throws Exception si un fragment est introuvable ou mal formé, ou si un abonnement cite un utilisateur
+     *                   défini dans aucun fragment
+     */
+    public static ReseauPartitionne chargerFragmentsPartitionnes(List<String> cheminsFichiers, int nombrePartitions)
+            throws Exception {
+        if (nombrePartitions < 1) {
+            throw new IllegalArgumentException("Le nombre de partitions est invalide.");
+        }
+        List<FragmentReseau> fragments = lireFragments(cheminsFichiers);
+        int[][] correspondances = new int[fragments.size()][];
+        Utilisateur[] utilisateurs = internerUtilisateurs(fragments, correspondances);
+
+        // Regrouper les utilisateurs selon leur partition, en un seul passage
+        int[] partitionDe = new int[utilisateurs.length];
+        int[] nombreUtilisateurs = new int[nombrePartitions + 1];
+        for (int i = 0; i < utilisateurs.length; i++) {
+            partitionDe[i] = ReseauPartitionne.partitionDe(utilisateurs[i].getUsername(), nombrePartitions);
+            nombreUtilisateurs[partitionDe[i] + 1]++;
+        }
+        for (int p = 0; p < nombrePartitions; p++) {
+            nombreUtilisateurs[p + 1] += nombreUtilisateurs[p];
+        }
+        int[] curseursUtilisateurs = Arrays.copyOf(nombreUtilisateurs, nombrePartitions);
+        int[] membres = new int[utilisateurs.length];
+        for (int i = 0; i < utilisateurs.length; i++) {
+            membres[curseursUtilisateurs[partitionDe[i]]++] = i;
+        }
+
+        // Regrouper les abonnements (identifiants globaux) selon la partition de leur source
+        int[] nombreArcs = new int[nombrePartitions + 1];
+        for (int f = 0; f < fragments.size(); f++) {
+            FragmentReseau fragment = fragments.get(f);
+            for (int k = 0; k < fragment.nombreArcs; k++) {
+                nombreArcs[partitionDe[correspondances[f][fragment.arcsDe[k]]] + 1]++;
+            }
+        }
+        for (int p = 0; p < nombrePartitions; p++) {
+            nombreArcs[p + 1] += nombreArcs[p];
+        }
+        int[] curseurs = Arrays.copyOf(nombreArcs, nombrePartitions);
+        int[] arcsDe = new int[nombreArcs[nombrePartitions]];
+        int[] arcsVers = new int[arcsDe.length];
+        for (int f = 0; f < fragments.size(); f++) {
+            FragmentReseau fragment = fragments.get(f);
+            for (int k = 0; k < fragment.nombreArcs; k++) {
+                int de = correspondances[f][fragment.arcsDe[k]];
+                int position = curseurs[partitionDe[de]]++;
+                arcsDe[position] = de;
+                arcsVers[position] = correspondances[f][fragment.arcsVers[k]];
+            }
+        }
+
+        CivixNet[] partitions = IntStream.range(0, nombrePartitions).parallel().mapToObj(p -> {
+            StockageGraphe stockage = new StockageTableaux();
+            for (int k = nombreUtilisateurs[p]; k < nombreUtilisateurs[p + 1]; k++) {
+                stockage.ajouterUtilisateur(utilisateurs[membres[k]]);
+            }
+            for (int k = nombreArcs[p]; k < nombreArcs[p + 1]; k++) {
+                Utilisateur cible = utilisateurs[arcsVers[k]];
+                if (!stockage.contient(cible)) {
+                    stockage.ajouterUtilisateur(cible);  // Fantôme d'une autre partition
+                }
+                stockage.ajouterAbonnement(utilisateurs[arcsDe[k]], cible);
+            }
+            return new CivixNet(stockage);
+        }).toArray(CivixNet[]::new);
+
+        return new ReseauPartitionne(partitions);
+    }
+
+    /**
+     * Lit les fragments en parallèle, sur un groupe de fils d'exécution de taille fixe.
+     *
+     * @param cheminsFichiers les chemins des fragments
+     * @return les fragments lus, dans l'ordre des chemins
+     * @throws Exception la première erreur rencontrée lors de la lecture d'un fragment
+     */
+    private static List<FragmentReseau> lireFragments(List<String> cheminsFichiers) throws Exception {
+        int fils = Math.max(1, Math.min(cheminsFichiers.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executeur = Executors.newFixedThreadPool(fils);
+        try {
+            List<Future<FragmentReseau>> lectures = new ArrayList<>();
+            for (String chemin : cheminsFichiers) {
+                lectures.add(executeur.submit(() -> FragmentReseau.lire(chemin)));
+            }
+
+            List<FragmentReseau> fragments = new ArrayList<>();
+            for (Future<FragmentReseau> lecture : lectures) {
+                try {
+                    fragments.add(lecture.get());
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception) {
+                        throw (Exception) e.getCause();
+                    }
+                    throw e;
+                }
+            }
+            return fragments;
+        } finally {
+            executeur.shutdownNow();
+        }
+    }
+
+    /**
+     * Attribue un identifiant global à chaque utilisateur défini dans les fragments et calcule,
+     * pour chaque fragment, la correspondance entre identifiants locaux et globaux.
+     * Les noms sont comparés sans tenir compte de la casse, comme l'égalité entre utilisateurs.
+     *
+     * @param fragments       les fragments lus
+     * @param correspondances reçoit, pour chaque fragment, le tableau identifiant local → identifiant global
+     * @return les utilisateurs indexés par identifiant global
+     * @throws RuntimeException si un abonnement cite un utilisateur défini dans aucun fragment
+     */
+    private static Utilisateur[] internerUtilisateurs(List<FragmentReseau> fragments, int[][] correspondances) {
+        Map<String, Integer> ids = new HashMap<>();
+        List<Utilisateur> utilisateurs = new ArrayList<>();
+
+        for (FragmentReseau fragment : fragments) {
+            for (int local = 0; local < fragment.noms.size(); local++) {
+                String nom = fragment.noms.get(local);
+                String motDePasse = fragment.motsDePasse.get(local);
+                if (motDePasse != null && ids.putIfAbsent(RegistreUtilisateurs.cle(nom), utilisateurs.size()) == null) {
+                    utilisateurs.add(new Utilisateur(nom, motDePasse));
+                }
+            }
+        }
+
+        for (int f = 0; f < fragments.size(); f++) {
+            FragmentReseau fragment = fragments.get(f);
+            correspondances[f] = new int[fragment.noms.size()];
+            for (int local = 0; local < fragment.noms.size(); local++) {
+                Integer global = ids.get(RegistreUtilisateurs.cle(fragment.noms.get(local)));
+                if (global == null) {
+                    throw new RuntimeException("Utilisateur introuvable");
+                }
+                correspondances[f][local] = global;
+            }
+        }
+        return utilisateurs.toArray(new Utilisateur[0]);
+    }
+
     /**
      * Sérialise un objet {@link CivixNet} et l'écrit dans un fichier `.ser`.
      *
@@ -0,0 +1,122 @@
+package reseau;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+/**
+ * La classe {@code ReseauPartitionne} répartit un réseau entre plusieurs {@link CivixNet} selon
+ * le hachage du nom d'utilisateur, afin de pouvoir interroger chaque partition en parallèle.
+ * <p>
+ * Chaque utilisateur appartient à une seule partition, qui conserve ses abonnements. Les utilisateurs
+ * suivis qui appartiennent à une autre partition y sont enregistrés comme « fantômes », sans abonnements,
+ * pour que les abonnements puissent être stockés localement. Les mêmes instances d'{@link Utilisateur}
+ * sont partagées par toutes les partitions.
+ * </p>
+ */
+public class ReseauPartitionne {
+
+    private final CivixNet[] partitions;
+
+    /**
+     * Constructeur. Utiliser {@link ReseauBuilder#chargerFragmentsPartitionnes(List, int)} pour
+     * construire un réseau partitionné à partir de fichiers.
+     *
+     * @param partitions les partitions, indexées selon {@link #partitionDe(String, int)}
+     */
+    public ReseauPartitionne(CivixNet[] partitions) {
+        if (partitions.length == 0) {
+            throw new IllegalArgumentException("Le nombre de partitions est invalide.");
+        }
+        this.partitions = partitions.clone();
+    }
+
+    /**
+     * Retourne la partition propriétaire d'un nom d'utilisateur.
+     * Le hachage ignore la casse, comme l'égalité entre utilisateurs.
+     *
+     * @param username         le nom d'utilisateur
+     * @param nombrePartitions le nombre de partitions
+     * @return l'indice de la partition, entre {@code 0} et {@code nombrePartitions - 1}
+     */
+    public static int partitionDe(String username, int nombrePartitions) {
+        return Math.floorMod(username.toLowerCase(Locale.ROOT).hashCode(), nombrePartitions);
+    }
+
+    /**
+     * Retourne le nombre de partitions.
+     *
+     * @return le nombre de partitions
+     */
+    public int nombrePartitions() {
+        return partitions.length;
+    }
+
+    /**
+     * Retourne une partition.
+     *
+     * @param indice l'indice de la partition
+     * @return le réseau de la partition
+     */
+    public CivixNet partition(int indice) {
+        return partitions[indice];
+    }
+
+    /**
+     * Vérifie si un utilisateur appartient à la partition donnée (et n'y est pas un simple fantôme).
+     *
+     * @param indice l'indice de la partition
+     * @param u      l'utilisateur
+     * @return {@code true} si la partition est propriétaire de l'utilisateur
+     */
+    public boolean possede(int indice, Utilisateur u) {
+        return partitionDe(u.getUsername(), partitions.length) == indice;
+    }
+
+    /**
+     * Recherche un utilisateur dans sa partition propriétaire.
+     *
+     * @param username le nom d'utilisateur recherché
+     * @return l'objet {@link Utilisateur} correspondant
+     * @throws RuntimeException si l'utilisateur n'existe pas
+     */
+    public Utilisateur obtenirUtilisateurAPartirDuUsername(String username) {
+        return partitions[partitionDe(username, partitions.length)].obtenirUtilisateurAPartirDuUsername(username);
+    }
+
+    /**
+     * Retourne les abonnements d'un utilisateur, lus dans sa partition propriétaire.
+     *
+     * @param compte l'utilisateur concerné
+     * @return ses abonnements, en lecture seule
+     */
+    public Set<Utilisateur> abonnementsDe(Utilisateur compte) {
+        return partitions[partitionDe(compte.getUsername(), partitions.length)].abonnementsDe(compte);
+    }
+
+    /**
+     * Vérifie si deux utilisateurs sont mutuellement abonnés, en consultant la partition de chacun.
+     *
+     * @param u1 le premier utilisateur
+     * @param u2 le second utilisateur
+     * @return {@code true} si chacun suit l'autre
+     */
+    public boolean abonnementMutuel(Utilisateur u1, Utilisateur u2) {
+        return abonnementsDe(u1).contains(u2) && abonnementsDe(u2).contains(u1);
+    }
+
+    /**
+     * Exécute une requête sur chaque partition en parallèle.
+     * La requête reçoit l'indice de la partition, par exemple pour ne retenir que les utilisateurs
+     * dont elle est propriétaire avec {@link #possede(int, Utilisateur)}.
+     *
+     * @param requete la requête à exécuter, appelée avec l'indice et le réseau de chaque partition
+     * @param <R>     le type du résultat
+     * @return les résultats, dans l'ordre des partitions
+     */
+    public <R> List<R> interrogerEnParallele(BiFunction<Integer, CivixNet, R> requete) {
+        return IntStream.range(0, partitions.length).parallel()
+                .mapToObj(indice -> requete.apply(indice, partitions[indice]))
+                .toList();
+    }
+}
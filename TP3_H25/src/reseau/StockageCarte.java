@@ -0,0 +1,93 @@
+package reseau;
+
+import java.util.*;
+
+/**
+ * Stockage par défaut d'un {@link CivixNet} : une carte triée associant chaque utilisateur
+ * à l'ensemble des utilisateurs qu'il suit.
+ * <p>
+ * Les utilisateurs sont parcourus en ordre alphabétique. Un index par nom d'utilisateur
+ * permet de retrouver un utilisateur sans parcourir la carte.
+ * </p>
+ */
+public class StockageCarte implements StockageGraphe {
+
+    /**
+     * La carte représentant les utilisateurs et leurs abonnements.
+     * La clé est un utilisateur, et la valeur est l'ensemble des utilisateurs qu'il suit.
+     */
+    private final TreeMap<Utilisateur, Set<Utilisateur>> utilisateurs = new TreeMap<>();
+
+    /**
+     * Index des utilisateurs enregistrés par nom d'utilisateur exact.
+     * La recherche étant sensible à la casse, aucune conversion (ni allocation) n'est nécessaire.
+     */
+    private final Map<String, Utilisateur> parNom = new HashMap<>();
+
+    @Override
+    public void ajouterUtilisateur(Utilisateur u) {
+        // La carte conserve la clé existante lorsqu'un utilisateur équivalent est déjà présent
+        if (enregistre(u) == null) {
+            parNom.put(u.getUsername(), u);
+        }
+        utilisateurs.put(u, new HashSet<>());
+    }
+
+    @Override
+    public Utilisateur chercher(String username) {
+        return parNom.get(username);
+    }
+
+    @Override
+    public boolean contient(Utilisateur u) {
+        return utilisateurs.containsKey(u);
+    }
+
+    @Override
+    public int nombreUtilisateurs() {
+        return utilisateurs.size();
+    }
+
+    @Override
+    public Collection<Utilisateur> utilisateurs() {
+        return Collections.unmodifiableSet(utilisateurs.keySet());
+    }
+
+    @Override
+    public Set<Utilisateur> abonnements(Utilisateur compte) {
+        Set<Utilisateur> abonnements = utilisateurs.get(compte);
+        return abonnements != null ? Collections.unmodifiableSet(abonnements) : Collections.emptySet();
+    }
+
+    @Override
+    public boolean ajouterAbonnement(Utilisateur compte, Utilisateur cible) {
+        Set<Utilisateur> abonnements = utilisateurs.get(compte);
+        if (abonnements == null || !utilisateurs.containsKey(cible)) {
+            return false;
+        }
+        return abonnements.add(enregistre(cible));
+    }
+
+    @Override
+    public boolean retirerAbonnement(Utilisateur compte, Utilisateur cible) {
+        Set<Utilisateur> abonnements = utilisateurs.get(compte);
+        return abonnements != null && abonnements.remove(enregistre(cible));
+    }
+
+    @Override
+    public boolean suit(Utilisateur compte, Utilisateur cible) {
+        Set<Utilisateur> abonnements = utilisateurs.get(compte);
+        return abonnements != null && abonnements.contains(enregistre(cible));
+    }
+
+    /**
+     * Retourne l'instance enregistrée équivalente à l'utilisateur donné.
+     *
+     * @param u l'utilisateur recherché
+     * @return l'instance enregistrée, ou {@code null} si aucun utilisateur équivalent n'existe
+     */
+    private Utilisateur enregistre(Utilisateur u) {
+        Utilisateur cle = utilisateurs.ceilingKey(u);
+        return cle != null && cle.compareTo(u) == 0 ? cle : null;
+    }
+}
@@ -0,0 +1,119 @@
+package reseau;
+
+import java.util.*;
+
+/**
+ * Stockage en lecture seule d'un {@link CivixNet}, construit à partir d'un instantané d'un autre stockage.
+ * <p>
+ * Le graphe est conservé dans un {@link GrapheCompact} : les recherches se font par dichotomie et
+ * aucune structure n'est modifiée après la construction, ce qui permet de partager le réseau entre
+ * plusieurs fils d'exécution sans synchronisation. Toute tentative de modification lève une
+ * {@link UnsupportedOperationException}. Les utilisateurs sont parcourus en ordre alphabétique.
+ * </p>
+ */
+public class StockageFige implements StockageGraphe {
+
+    private final GrapheCompact graphe;  // Instantané du stockage source
+
+    /**
+     * Construit un stockage figé contenant une copie des utilisateurs et abonnements de la source.
+     *
+     * @param source le stockage à copier
+     */
+    public StockageFige(StockageGraphe source) {
+        this.graphe = GrapheCompact.depuis(source);
+    }
+
+    @Override
+    public void ajouterUtilisateur(Utilisateur u) {
+        throw new UnsupportedOperationException("Le réseau est figé.");
+    }
+
+    @Override
+    public Utilisateur chercher(String username) {
+        int id = graphe.indexDe(username);
+        return id >= 0 && graphe.utilisateur(id).getUsername().equals(username) ? graphe.utilisateur(id) : null;
+    }
+
+    @Override
+    public boolean contient(Utilisateur u) {
+        return graphe.indexDe(u) >= 0;
+    }
+
+    @Override
+    public int nombreUtilisateurs() {
+        return graphe.nombreSommets();
+    }
+
+    @Override
+    public Collection<Utilisateur> utilisateurs() {
+        return new AbstractList<>() {
+            @Override
+            public Utilisateur get(int index) {
+                return graphe.utilisateur(index);
+            }
+
+            @Override
+            public int size() {
+                return graphe.nombreSommets();
+            }
+        };
+    }
+
+    @Override
+    public Set<Utilisateur> abonnements(Utilisateur compte) {
+        int id = graphe.indexDe(compte);
+        if (id < 0) {
+            return Collections.emptySet();
+        }
+
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return graphe.fin(id) - graphe.debut(id);
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Utilisateur && suit(compte, (Utilisateur) o);
+            }
+
+            @Override
+            public Iterator<Utilisateur> iterator() {
+                return new Iterator<>() {
+                    private int position = graphe.debut(id);
+
+                    @Override
+                    public boolean hasNext() {
+                        return position < graphe.fin(id);
+                    }
+
+                    @Override
+                    public Utilisateur next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return graphe.utilisateur(graphe.cible(position++));
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public boolean ajouterAbonnement(Utilisateur compte, Utilisateur cible) {
+        throw new UnsupportedOperationException("Le réseau est figé.");
+    }
+
+    @Override
+    public boolean retirerAbonnement(Utilisateur compte, Utilisateur cible) {
+        throw new UnsupportedOperationException("Le réseau est figé.");
+    }
+
+    @Override
+    public boolean suit(Utilisateur compte, Utilisateur cible) {
+        int de = graphe.indexDe(compte);
+        int vers = graphe.indexDe(cible);
+        return de >= 0 && vers >= 0 && graphe.suit(de, vers);
+    }
+}
@@ -0,0 +1,155 @@
+package reseau;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * L'interface {@code StockageGraphe} décrit la façon dont un {@link CivixNet} conserve ses utilisateurs
+ * (le registre) et leurs abonnements (la liste d'adjacence).
+ * <p>
+ * Deux utilisateurs sont considérés identiques lorsque leurs noms d'utilisateur sont égaux en ignorant
+ * la casse, comme dans {@link Utilisateur#compareTo(Utilisateur)}. Les méthodes qui retournent des
+ * utilisateurs retournent toujours les instances enregistrées dans le stockage.
+ * </p>
+ * <p>
+ * Implémentations fournies :
+ * <ul>
+ *     <li>{@link StockageCarte} : carte triée d'ensembles (comportement historique) ;</li>
+ *     <li>{@link StockageTableaux} : identifiants entiers et tableaux primitifs ;</li>
+ *     <li>{@link StockageFige} : instantané en lecture seule d'un autre stockage.</li>
+ * </ul>
+ */
+public interface StockageGraphe {
+
+    /**
+     * Enregistre un utilisateur. Si un utilisateur équivalent existe déjà, l'instance existante est
+     * conservée et ses abonnements sont réinitialisés.
+     *
+     * @param u l'utilisateur à enregistrer
+     * @throws UnsupportedOperationException si le stockage est en lecture seule
+     */
+    void ajouterUtilisateur(Utilisateur u);
+
+    /**
+     * Recherche un utilisateur par son nom exact (sensible à la casse).
+     *
+     * @param username le nom d'utilisateur recherché
+     * @return l'utilisateur enregistré, ou {@code null} s'il n'existe pas
+     */
+    Utilisateur chercher(String username);
+
+    /**
+     * Vérifie si un utilisateur est enregistré.
+     *
+     * @param u l'utilisateur à vérifier
+     * @return {@code true} si un utilisateur équivalent est enregistré
+     */
+    boolean contient(Utilisateur u);
+
+    /**
+     * Retourne le nombre d'utilisateurs enregistrés.
+     *
+     * @return le nombre d'utilisateurs
+     */
+    int nombreUtilisateurs();
+
+    /**
+     * Retourne une vue en lecture seule des utilisateurs enregistrés.
+     * L'ordre de parcours dépend de l'implémentation.
+     *
+     * @return les utilisateurs du stockage
+     */
+    Collection<Utilisateur> utilisateurs();
+
+    /**
+     * Retourne une vue en lecture seule des utilisateurs suivis par un utilisateur.
+     *
+     * @param compte l'utilisateur concerné
+     * @return ses abonnements, ou un ensemble vide s'il n'est pas enregistré
+     */
+    Set<Utilisateur> abonnements(Utilisateur compte);
+
+    /**
+     * Abonne un utilisateur à un autre. L'opération est ignorée si l'un des deux n'est pas enregistré.
+     *
+     * @param compte l'utilisateur qui souhaite suivre
+     * @param cible  l'utilisateur à suivre
+     * @return {@code true} si l'abonnement a été ajouté
+     * @throws UnsupportedOperationException si le stockage est en lecture seule
+     */
+    boolean ajouterAbonnement(Utilisateur compte, Utilisateur cible);
+
+    /**
+     * Retire un abonnement. L'opération est ignorée si l'abonnement n'existe pas.
+     *
+     * @param compte l'utilisateur qui arrête de suivre
+     * @param cible  l'utilisateur à ne plus suivre
+     * @return {@code true} si l'abonnement a été retiré
+     * @throws UnsupportedOperationException si le stockage est en lecture seule
+     */
+    boolean retirerAbonnement(Utilisateur compte, Utilisateur cible);
+
+    /**
+     * Vérifie si un utilisateur en suit un autre.
+     *
+     * @param compte l'utilisateur qui suit
+     * @param cible  l'utilisateur suivi
+     * @return {@code true} si l'abonnement existe
+     */
+    boolean suit(Utilisateur compte, Utilisateur cible);
+
+    /**
+     * Retourne les utilisateurs qui suivent l'utilisateur donné et sont suivis par lui.
+     * L'implémentation par défaut vérifie chaque abonnement ; les stockages peuvent la remplacer
+     * par une intersection d'ensembles.
+     *
+     * @param compte l'utilisateur concerné
+     * @return un nouvel ensemble des abonnés mutuels
+     */
+    default Set<Utilisateur> abonnesMutuels(Utilisateur compte) {
+        Set<Utilisateur> mutuels = new LinkedHashSet<>();
+        for (Utilisateur abonnement : abonnements(compte)) {
+            if (suit(abonnement, compte)) {
+                mutuels.add(abonnement);
+            }
+        }
+        return mutuels;
+    }
+
+    /**
+     * Retourne les utilisateurs suivis à la fois par {@code u1} et par {@code u2}.
+     *
+     * @param u1 le premier utilisateur
+     * @param u2 le second utilisateur
+     * @return un nouvel ensemble des abonnements communs
+     */
+    default Set<Utilisateur> abonnementsCommuns(Utilisateur u1, Utilisateur u2) {
+        Set<Utilisateur> communs = new LinkedHashSet<>();
+        for (Utilisateur abonnement : abonnements(u1)) {
+            if (suit(u2, abonnement)) {
+                communs.add(abonnement);
+            }
+        }
+        return communs;
+    }
+
+    /**
+     * Retourne les utilisateurs suivis par les comptes que suit l'utilisateur donné, à l'exception
+     * de lui-même et des comptes qu'il suit déjà.
+     *
+     * @param compte l'utilisateur concerné
+     * @return un nouvel ensemble de recommandations
+     */
+    default Set<Utilisateur> recommandations(Utilisateur compte) {
+        Set<Utilisateur> candidats = new LinkedHashSet<>();
+        for (Utilisateur suivi : abonnements(compte)) {
+            for (Utilisateur candidat : abonnements(suivi)) {
+                if (!suit(compte, candidat) && candidat.compareTo(compte) != 0) {
+                    candidats.add(candidat);
+                }
+            }
+        }
+        return candidats;
+    }
+}
@@ -0,0 +1,215 @@
+package reseau;
+
+import java.util.*;
+
+/**
+ * Stockage d'un {@link CivixNet} basé sur des identifiants entiers et des tableaux primitifs.
+ * <p>
+ * Chaque utilisateur reçoit un identifiant dans l'ordre d'enregistrement. Les abonnements et les abonnés
+ * de chaque utilisateur sont conservés dans des {@link EnsembleEntiers} : un {@code int[]} trié pour la
+ * majorité des comptes, et un bitmap compressé pour les comptes très suivis dont le degré dépasse le seuil.
+ * Les intersections et unions utilisées par les requêtes d'abonnements mutuels et de recommandation
+ * travaillent directement sur ces ensembles. Les utilisateurs sont parcourus dans l'ordre d'enregistrement.
+ * </p>
+ * <p>
+ * C'est le stockage par défaut de {@link CivixNet} et de tous les chargements de {@link ReseauBuilder}.
+ * </p>
+ */
+public class StockageTableaux implements StockageGraphe {
+
+    private final int seuil;                                          // Seuil de conversion en bitmap
+    private final RegistreUtilisateurs registre = new RegistreUtilisateurs();  // Identifiants des utilisateurs
+    private EnsembleEntiers[] abonnements = new EnsembleEntiers[16];  // Utilisateurs suivis par chaque utilisateur
+    private EnsembleEntiers[] abonnes = new EnsembleEntiers[16];      // Utilisateurs qui suivent chaque utilisateur
+
+    /**
+     * Constructeur par défaut, avec le seuil {@link EnsembleEntiers#SEUIL_PAR_DEFAUT}.
+     */
+    public StockageTableaux() {
+        this(EnsembleEntiers.SEUIL_PAR_DEFAUT);
+    }
+
+    /**
+     * Constructeur.
+     *
+     * @param seuil le degré au-delà duquel les abonnements ou abonnés d'un utilisateur passent en bitmap
+     */
+    public StockageTableaux(int seuil) {
+        this.seuil = seuil;
+    }
+
+    @Override
+    public void ajouterUtilisateur(Utilisateur u) {
+        int nombre = registre.nombre();
+        int de = registre.enregistrer(u);
+        if (de < nombre) {
+            abonnements[de].pourChaque(vers -> abonnes[vers].retirer(de));
+            abonnements[de].vider();
+            return;
+        }
+
+        if (de == abonnements.length) {
+            abonnements = Arrays.copyOf(abonnements, de * 2);
+            abonnes = Arrays.copyOf(abonnes, de * 2);
+        }
+        abonnements[de] = new EnsembleEntiers(seuil);
+        abonnes[de] = new EnsembleEntiers(seuil);
+    }
+
+    @Override
+    public Utilisateur chercher(String username) {
+        int id = registre.idDuNom(username);
+        return id >= 0 && registre.utilisateur(id).getUsername().equals(username) ? registre.utilisateur(id) : null;
+    }
+
+    @Override
+    public boolean contient(Utilisateur u) {
+        return id(u) >= 0;
+    }
+
+    @Override
+    public int nombreUtilisateurs() {
+        return registre.nombre();
+    }
+
+    @Override
+    public Collection<Utilisateur> utilisateurs() {
+        return registre.utilisateurs();
+    }
+
+    @Override
+    public Set<Utilisateur> abonnements(Utilisateur compte) {
+        int id = id(compte);
+        return id >= 0 ? new VueEnsemble(abonnements[id]) : Collections.emptySet();
+    }
+
+    @Override
+    public boolean ajouterAbonnement(Utilisateur compte, Utilisateur cible) {
+        int de = id(compte);
+        int vers = id(cible);
+        if (de < 0 || vers < 0 || !abonnements[de].ajouter(vers)) {
+            return false;
+        }
+        abonnes[vers].ajouter(de);
+        return true;
+    }
+
+    @Override
+    public boolean retirerAbonnement(Utilisateur compte, Utilisateur cible) {
+        int de = id(compte);
+        int vers = id(cible);
+        if (de < 0 || vers < 0 || !abonnements[de].retirer(vers)) {
+            return false;
+        }
+        abonnes[vers].retirer(de);
+        return true;
+    }
+
+    @Override
+    public boolean suit(Utilisateur compte, Utilisateur cible) {
+        int de = id(compte);
+        int vers = id(cible);
+        return de >= 0 && vers >= 0 && abonnements[de].contient(vers);
+    }
+
+    /**
+     * Calcule les abonnés mutuels par intersection des abonnements et des abonnés de l'utilisateur.
+     */
+    @Override
+    public Set<Utilisateur> abonnesMutuels(Utilisateur compte) {
+        int id = id(compte);
+        if (id < 0) {
+            return Collections.emptySet();
+        }
+        return new VueEnsemble(EnsembleEntiers.intersection(abonnements[id], abonnes[id]));
+    }
+
+    /**
+     * Calcule les abonnements communs par intersection des deux ensembles d'abonnements.
+     */
+    @Override
+    public Set<Utilisateur> abonnementsCommuns(Utilisateur u1, Utilisateur u2) {
+        int a = id(u1);
+        int b = id(u2);
+        if (a < 0 || b < 0) {
+            return Collections.emptySet();
+        }
+        return new VueEnsemble(EnsembleEntiers.intersection(abonnements[a], abonnements[b]));
+    }
+
+    /**
+     * Calcule les recommandations en ajoutant sur place les abonnements de chaque compte suivi
+     * à un seul ensemble de candidats.
+     */
+    @Override
+    public Set<Utilisateur> recommandations(Utilisateur compte) {
+        int id = id(compte);
+        if (id < 0) {
+            return Collections.emptySet();
+        }
+
+        EnsembleEntiers candidats = new EnsembleEntiers(seuil);
+        abonnements[id].pourChaque(suivi -> candidats.ajouterTout(abonnements[suivi]));
+        abonnements[id].pourChaque(candidats::retirer);
+        candidats.retirer(id);
+        return new VueEnsemble(candidats);
+    }
+
+    /**
+     * Retourne l'identifiant d'un utilisateur.
+     *
+     * @param u l'utilisateur recherché
+     * @return son identifiant, ou {@code -1} s'il n'est pas enregistré
+     */
+    private int id(Utilisateur u) {
+        return registre.id(u);
+    }
+
+    /**
+     * Vue en lecture seule d'un ensemble d'identifiants, sous forme d'ensemble d'utilisateurs.
+     * La vue reflète les modifications ultérieures de l'ensemble.
+     */
+    private final class VueEnsemble extends AbstractSet<Utilisateur> {
+
+        private final EnsembleEntiers ensemble;
+
+        VueEnsemble(EnsembleEntiers ensemble) {
+            this.ensemble = ensemble;
+        }
+
+        @Override
+        public int size() {
+            return ensemble.taille();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Utilisateur)) {
+                return false;
+            }
+            int id = id((Utilisateur) o);
+            return id >= 0 && ensemble.contient(id);
+        }
+
+        @Override
+        public Iterator<Utilisateur> iterator() {
+            int[] ids = ensemble.versTableau();
+            return new Iterator<>() {
+                private int position = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return position < ids.length;
+                }
+
+                @Override
+                public Utilisateur next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return registre.utilisateur(ids[position++]);
+                }
+            };
+        }
+    }
+}
@@ -7,6 +7,8 @@
 
 package reseau;
 
+import java.util.Comparator;
+
 /**
  * La classe {@code Utilisateur} représente un utilisateur avec un nom d'utilisateur (username)
  * et un mot de passe (password). Elle inclut des mécanismes de validation pour s'assurer
@@ -16,6 +18,14 @@ package reseau;
  * </p>
  */
 public class Utilisateur implements Comparable<Utilisateur> {
+
+    /**
+     * Ordre alphabétique inverse des noms d'utilisateur (sensible à la casse), utilisé par les propagations
+     * de {@link CivixNet} et de {@link GrapheTemporel}.
+     */
+    static final Comparator<Utilisateur> ORDRE_ALPHABETIQUE_INVERSE =
+            Comparator.comparing(Utilisateur::getUsername).reversed();
+
     private String username;
     private String password;
 
@@ -101,7 +111,8 @@ public class Utilisateur implements Comparable<Utilisateur> {
         int minuscule = 0;
         int majuscule = 0;
 
-        for (char c : password.toCharArray()) {
+        for (int i = 0; i < password.length(); i++) {  // charAt évite la copie faite par toCharArray
+            char c = password.charAt(i);
             if (Character.isDigit(c)) {
                 chiffre++;
             } else if (Character.isLowerCase(c)) {
@@ -0,0 +1,209 @@
+package service;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client du {@link ServeurRequetes}.
+ * <p>
+ * Les requêtes sont envoyées sans attendre les réponses précédentes : chaque appel retourne
+ * immédiatement un {@link CompletableFuture} complété par le fil de lecture du client lorsque
+ * la réponse correspondante arrive. L'envoi est confié à un groupe de fils partagé par tous les clients :
+ * une tâche d'écriture n'est planifiée que si aucune n'est déjà en cours pour ce client, et elle envoie
+ * d'un seul coup toutes les requêtes en attente, de sorte qu'une rafale de requêtes ne coûte que quelques
+ * envois. Chaque client n'a donc qu'un fil propre, celui de lecture, virtuel lorsque le JDK le permet.
+ * </p>
+ * <p>
+ * La file des requêtes à envoyer est bornée : lorsqu'elle est pleine, l'appel attend qu'une place se libère.
+ * Le client peut être partagé entre plusieurs fils.
+ * </p>
+ */
+public class ClientRequetes implements Closeable {
+
+    /**
+     * Capacité par défaut de la file des requêtes à envoyer.
+     */
+    public static final int CAPACITE_PAR_DEFAUT = 4096;
+
+    private static final long ATTENTE_PLACE = 100;  // Délai (ms) entre deux vérifications de fermeture pendant l'attente
+
+    private static final ExecutorService ECRITURES =
+            FilsExecution.unFilParTache(Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    private final Socket socket;
+    private final OutputStream sortie;              // Utilisé uniquement par la tâche d'écriture en cours
+    private final BlockingQueue<byte[]> requetes;
+    private final AtomicBoolean ecritureEnCours = new AtomicBoolean();
+    private final AtomicInteger prochainIdentifiant = new AtomicInteger();
+    private final Map<Integer, CompletableFuture<Boolean>> enAttente = new ConcurrentHashMap<>();
+    private volatile boolean ferme;
+
+    /**
+     * Se connecte à un serveur sur l'interface de bouclage, avec la capacité par défaut.
+     *
+     * @param port le port du serveur
+     * @throws IOException si la connexion échoue
+     */
+    public ClientRequetes(int port) throws IOException {
+        this(port, CAPACITE_PAR_DEFAUT);
+    }
+
+    /**
+     * Se connecte à un serveur sur l'interface de bouclage.
+     *
+     * @param port     le port du serveur
+     * @param capacite le nombre maximal de requêtes en attente d'envoi
+     * @throws IOException              si la connexion échoue
+     * @throws IllegalArgumentException si la capacité est inférieure à 1
+     */
+    public ClientRequetes(int port, int capacite) throws IOException {
+        if (capacite < 1) {
+            throw new IllegalArgumentException("La capacité est invalide.");
+        }
+        requetes = new ArrayBlockingQueue<>(capacite);
+        socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setTcpNoDelay(true);
+        sortie = new BufferedOutputStream(socket.getOutputStream(), 8192);
+        FilsExecution.demarrer(this::lireReponses, "ClientRequetes-" + socket.getLocalPort() + "-lecture");
+    }
+
+    /**
+     * Vérifie si un utilisateur existe.
+     *
+     * @param username le nom d'utilisateur
+     * @return le résultat à venir
+     */
+    public CompletableFuture<Boolean> chercher(String username) {
+        return envoyer(Protocole.CHERCHER, username);
+    }
+
+    /**
+     * Vérifie si deux utilisateurs sont mutuellement abonnés.
+     * Le résultat est faux si l'un des utilisateurs n'existe pas.
+     *
+     * @param username1 le premier nom d'utilisateur
+     * @param username2 le second nom d'utilisateur
+     * @return le résultat à venir
+     */
+    public CompletableFuture<Boolean> abonnementMutuel(String username1, String username2) {
+        return envoyer(Protocole.ABONNEMENT_MUTUEL, username1, username2);
+    }
+
+    /**
+     * Encode une requête et la dépose dans la file d'envoi, en attendant une place si elle est pleine.
+     */
+    private CompletableFuture<Boolean> envoyer(byte operation, String... arguments) {
+        int identifiant = prochainIdentifiant.getAndIncrement();
+        CompletableFuture<Boolean> resultat = new CompletableFuture<>();
+        enAttente.put(identifiant, resultat);
+        if (ferme) {  // Vérifié après l'enregistrement pour ne pas manquer la fermeture par le fil de lecture
+            enAttente.remove(identifiant);
+            resultat.completeExceptionally(new IOException("Client fermé"));
+            return resultat;
+        }
+        byte[] trame = Protocole.encoderRequete(operation, identifiant, arguments);
+        try {
+            while (!requetes.offer(trame, ATTENTE_PLACE, TimeUnit.MILLISECONDS)) {
+                if (ferme) {
+                    throw new IOException("Client fermé");
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            enAttente.remove(identifiant);
+            resultat.completeExceptionally(e);
+            return resultat;
+        }
+        planifierEcriture();
+        return resultat;
+    }
+
+    /**
+     * Planifie une tâche d'écriture, sauf si une tâche est déjà en cours pour ce client.
+     */
+    private void planifierEcriture() {
+        if (ecritureEnCours.compareAndSet(false, true)) {
+            ECRITURES.execute(this::ecrireRequetes);
+        }
+    }
+
+    /**
+     * Envoie les requêtes en attente, en vidant le tampon une seule fois par rafale.
+     * La tâche se termine lorsque la file est vide ; une requête déposée entre-temps en replanifie une.
+     */
+    private void ecrireRequetes() {
+        try {
+            do {
+                byte[] requete;
+                while ((requete = requetes.poll()) != null) {
+                    sortie.write(requete);
+                }
+                sortie.flush();
+                ecritureEnCours.set(false);
+            } while (!requetes.isEmpty() && ecritureEnCours.compareAndSet(false, true));
+        } catch (IOException e) {
+            // Connexion fermée : le fil de lecture fait échouer les requêtes en attente.
+            // L'écriture reste marquée en cours pour ne plus être planifiée.
+            try {
+                socket.close();
+            } catch (IOException ignoree) {
+                // Déjà fermée
+            }
+        }
+    }
+
+    /**
+     * Lit les réponses du serveur et complète les requêtes correspondantes.
+     */
+    private void lireReponses() {
+        IOException cause = new EOFException("Connexion fermée par le serveur");
+        try (DataInputStream entree = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            byte[] trame;
+            while ((trame = Protocole.lireTrame(entree)) != null) {
+                if (trame.length != Protocole.TAILLE_REPONSE) {
+                    throw new IOException("Réponse invalide");
+                }
+                int identifiant = ((trame[0] & 0xFF) << 24) | ((trame[1] & 0xFF) << 16) | ((trame[2] & 0xFF) << 8) | (trame[3] & 0xFF);
+                CompletableFuture<Boolean> resultat = enAttente.remove(identifiant);
+                if (resultat == null) {
+                    continue;
+                }
+                if (trame[4] == Protocole.SUCCES) {
+                    resultat.complete(trame[5] != 0);
+                } else {
+                    resultat.completeExceptionally(new IllegalArgumentException("Requête refusée par le serveur"));
+                }
+            }
+        } catch (IOException e) {
+            cause = e;
+        }
+
+        // Les requêtes sans réponse échouent
+        ferme = true;
+        requetes.clear();
+        for (Integer identifiant : enAttente.keySet()) {
+            CompletableFuture<Boolean> resultat = enAttente.remove(identifiant);
+            if (resultat != null) {
+                resultat.completeExceptionally(cause);
+            }
+        }
+    }
+
+    /**
+     * Ferme la connexion. Les requêtes encore en attente échouent.
+     *
+     * @throws IOException si la socket ne peut pas être fermée
+     */
+    @Override
+    public void close() throws IOException {
+        ferme = true;
+        socket.close();
+    }
+}
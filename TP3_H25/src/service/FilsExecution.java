@@ -0,0 +1,85 @@
+package service;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fabrique des exécuteurs utilisés par le service.
+ */
+final class FilsExecution {
+
+    private static final Method DEMARRER_FIL_VIRTUEL = chercherFabriqueVirtuelle();  // null avant Java 21
+
+    /**
+     * Constructeur privé : classe utilitaire.
+     */
+    private FilsExecution() {
+    }
+
+    /**
+     * Retourne {@code Thread.startVirtualThread(Runnable)}, ou {@code null} si le JDK n'offre pas les fils virtuels.
+     */
+    private static Method chercherFabriqueVirtuelle() {
+        try {
+            return Thread.class.getMethod("startVirtualThread", Runnable.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Indique si le JDK courant offre les fils virtuels.
+     *
+     * @return {@code true} à partir de Java 21
+     */
+    static boolean filsVirtuelsDisponibles() {
+        return DEMARRER_FIL_VIRTUEL != null;
+    }
+
+    /**
+     * Lance une tâche de longue durée sur un fil qui lui est propre : un fil virtuel lorsque le JDK le permet,
+     * sinon un fil plateforme démon.
+     *
+     * @param tache la tâche à exécuter
+     * @param nom   le nom du fil
+     */
+    static void demarrer(Runnable tache, String nom) {
+        if (DEMARRER_FIL_VIRTUEL != null) {
+            try {
+                ((Thread) DEMARRER_FIL_VIRTUEL.invoke(null, tache)).setName(nom);
+                return;
+            } catch (ReflectiveOperationException e) {
+                // Fabrique inutilisable : repli sur un fil plateforme
+            }
+        }
+        Thread fil = new Thread(tache, nom);
+        fil.setDaemon(true);
+        fil.start();
+    }
+
+    /**
+     * Retourne un exécuteur qui lance chaque tâche sur son propre fil.
+     * <p>
+     * Sur un JDK qui offre les fils virtuels (Java 21 et plus), chaque tâche s'exécute sur un fil virtuel,
+     * ce qui permet de garder des dizaines de milliers de connexions bloquantes ouvertes. Le projet ciblant
+     * Java 17, l'exécuteur est obtenu par réflexion ; à défaut, un groupe d'au plus {@code maxFils} fils
+     * plateforme est utilisé. L'appelant doit alors limiter lui-même le nombre de tâches bloquantes en cours
+     * à {@code maxFils}, sans quoi les tâches suivantes attendent qu'un fil se libère.
+     * </p>
+     *
+     * @param maxFils le nombre de fils plateforme à utiliser lorsque les fils virtuels ne sont pas disponibles
+     * @return un exécuteur « un fil par tâche »
+     */
+    static ExecutorService unFilParTache(int maxFils) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(maxFils, tache -> {
+                Thread fil = new Thread(tache);
+                fil.setDaemon(true);
+                return fil;
+            });
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package service;
+
+import reseau.CivixNet;
+import reseau.ReseauBuilder;
+import reseau.Utilisateur;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Programme de charge pour le {@link ServeurRequetes}.
+ * <p>
+ * Démarre un serveur local sur une copie figée du réseau, puis ouvre plusieurs clients qui envoient
+ * chacun leurs requêtes par rafales sans attendre les réponses. Tous les clients sont connectés avant
+ * la première requête, de sorte que leurs connexions sont simultanées. Affiche le débit obtenu.
+ * </p>
+ * <p>
+ * Arguments : {@code [fichier JSON] [nombre de clients] [requêtes par client] [taille des rafales] [port]}.
+ * Avec un port, les clients interrogent le serveur déjà démarré sur ce port ; avec {@code 0} client, seul
+ * le serveur est démarré, sur ce port, jusqu'à l'arrêt du programme. Séparer ainsi serveur et clients en
+ * deux processus répartit leurs descripteurs de fichiers entre deux limites.
+ * </p>
+ */
+public class HarnaisCharge {
+
+    /**
+     * Méthode principale.
+     *
+     * @param args les arguments de la ligne de commande
+     * @throws Exception si le fichier JSON est invalide ou si une requête échoue
+     */
+    public static void main(String[] args) throws Exception {
+        String fichier = args.length > 0 ? args[0] : "src/donnees/reseau.json";
+        int nombreClients = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int requetesParClient = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int tailleRafale = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+
+        int port = args.length > 4 ? Integer.parseInt(args[4]) : -1;
+
+        CivixNet reseau = ReseauBuilder.chargerDepuisJSON(fichier).figer();
+        String[] noms = reseau.utilisateurs().stream().map(Utilisateur::getUsername).toArray(String[]::new);
+
+        if (nombreClients == 0) {
+            try (ServeurRequetes serveur = new ServeurRequetes(reseau, Math.max(port, 0))) {
+                System.out.printf("Serveur en écoute sur le port %d%n", serveur.getPort());
+                Thread.currentThread().join();
+            }
+        } else if (port > 0) {
+            executerClients(port, noms, nombreClients, requetesParClient, tailleRafale);
+        } else {
+            try (ServeurRequetes serveur = new ServeurRequetes(reseau, 0, nombreClients,
+                    ServeurRequetes.CAPACITE_FILE_PAR_DEFAUT, ServeurRequetes.CAPACITE_CONNEXION_PAR_DEFAUT)) {
+                executerClients(serveur.getPort(), noms, nombreClients, requetesParClient, tailleRafale);
+            }
+        }
+    }
+
+    /**
+     * Lance les clients, attend leurs résultats et affiche le débit mesuré depuis la première requête.
+     */
+    private static void executerClients(int port, String[] noms, int nombreClients, int requetesParClient,
+                                        int tailleRafale) throws Exception {
+        ExecutorService clients = FilsExecution.unFilParTache(nombreClients);
+        CountDownLatch connectes = new CountDownLatch(nombreClients);
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Future<Integer>> resultats = new ArrayList<>(nombreClients);
+
+        long debutConnexions = System.nanoTime();
+        for (int c = 0; c < nombreClients; c++) {
+            resultats.add(clients.submit(() -> executerClient(port, noms, requetesParClient, tailleRafale, connectes, depart)));
+        }
+        connectes.await();
+        long debut = System.nanoTime();
+        depart.countDown();
+
+        int vrais = 0;
+        for (Future<Integer> resultat : resultats) {
+            vrais += resultat.get();
+        }
+        double secondes = (System.nanoTime() - debut) / 1e9;
+        clients.shutdown();
+
+        long total = (long) nombreClients * requetesParClient;
+        System.out.printf("%d clients connectés en %.2f s%n", nombreClients, (debut - debutConnexions) / 1e9);
+        System.out.printf("%d clients, %d requêtes en %.2f s : %.0f requêtes/s (%d réponses vraies)%n",
+                nombreClients, total, secondes, total / secondes, vrais);
+    }
+
+    /**
+     * Connecte un client, attend que tous les clients le soient, puis envoie ses requêtes par rafales
+     * et attend les réponses de chaque rafale.
+     *
+     * @return le nombre de réponses vraies
+     */
+    private static int executerClient(int port, String[] noms, int nombreRequetes, int tailleRafale,
+                                      CountDownLatch connectes, CountDownLatch depart) throws Exception {
+        ThreadLocalRandom aleatoire = ThreadLocalRandom.current();
+        List<CompletableFuture<Boolean>> rafale = new ArrayList<>(tailleRafale);
+        int vrais = 0;
+
+        ClientRequetes connexion;
+        try {
+            connexion = new ClientRequetes(port);
+        } finally {
+            connectes.countDown();  // Même en cas d'échec, pour ne pas bloquer le départ des autres clients
+        }
+        try (ClientRequetes client = connexion) {
+            depart.await();
+            for (int i = 0; i < nombreRequetes; i++) {
+                String u1 = noms[aleatoire.nextInt(noms.length)];
+                rafale.add(i % 2 == 0 ? client.chercher(u1) : client.abonnementMutuel(u1, noms[aleatoire.nextInt(noms.length)]));
+
+                if (rafale.size() == tailleRafale || i == nombreRequetes - 1) {
+                    for (CompletableFuture<Boolean> reponse : rafale) {
+                        if (reponse.get()) {
+                            vrais++;
+                        }
+                    }
+                    rafale.clear();
+                }
+            }
+        }
+        return vrais;
+    }
+}
@@ -0,0 +1,139 @@
+package service;
+
+import java.io.*;
+
+/**
+ * Protocole binaire du {@link ServeurRequetes}.
+ * <p>
+ * Chaque message est une trame préfixée par sa longueur : un {@code int} (gros-boutiste) donnant
+ * le nombre d'octets qui suivent, puis le contenu.
+ * </p>
+ * <ul>
+ *     <li>Requête : {@code byte operation}, {@code int identifiant}, puis les arguments de l'opération,
+ *     chacun encodé par {@link DataOutputStream#writeUTF(String)}.</li>
+ *     <li>Réponse : {@code int identifiant}, {@code byte statut}, {@code byte valeur}.</li>
+ * </ul>
+ * <p>
+ * L'identifiant est choisi par le client et recopié dans la réponse : un client peut donc envoyer
+ * plusieurs requêtes sans attendre (pipelining) et les réponses peuvent arriver dans un ordre différent.
+ * </p>
+ */
+public final class Protocole {
+
+    /**
+     * Vérifie si un utilisateur existe. Argument : le nom d'utilisateur.
+     */
+    public static final byte CHERCHER = 1;
+
+    /**
+     * Vérifie si deux utilisateurs sont mutuellement abonnés. Arguments : les deux noms d'utilisateur.
+     */
+    public static final byte ABONNEMENT_MUTUEL = 2;
+
+    /**
+     * Statut d'une requête traitée ; la valeur vaut {@code 1} pour vrai et {@code 0} pour faux.
+     */
+    public static final byte SUCCES = 0;
+
+    /**
+     * Statut d'une requête invalide (opération inconnue ou arguments manquants).
+     */
+    public static final byte ERREUR = 1;
+
+    /**
+     * Identifiant de la réponse {@link #ERREUR} à une trame trop courte pour porter un identifiant.
+     * Un client ne devrait pas l'utiliser pour ses propres requêtes.
+     */
+    public static final int IDENTIFIANT_INCONNU = -1;
+
+    /**
+     * Taille maximale acceptée pour une trame, en octets.
+     */
+    public static final int TAILLE_MAX_TRAME = 1 << 16;
+
+    /**
+     * Taille du contenu d'une réponse.
+     */
+    static final int TAILLE_REPONSE = 6;
+
+    /**
+     * Constructeur privé : classe utilitaire.
+     */
+    private Protocole() {
+    }
+
+    /**
+     * Lit une trame complète.
+     *
+     * @param entree le flux d'entrée
+     * @return le contenu de la trame, ou {@code null} si le flux est terminé
+     * @throws IOException si la trame est invalide ou si une erreur de lecture survient
+     */
+    static byte[] lireTrame(DataInputStream entree) throws IOException {
+        int longueur;
+        try {
+            longueur = entree.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (longueur < 0 || longueur > TAILLE_MAX_TRAME) {
+            throw new IOException("Trame invalide : " + longueur + " octets");
+        }
+        byte[] contenu = new byte[longueur];
+        entree.readFully(contenu);
+        return contenu;
+    }
+
+    /**
+     * Encode une requête dans une trame.
+     *
+     * @param operation   le code de l'opération
+     * @param identifiant l'identifiant de la requête
+     * @param arguments   les arguments de l'opération
+     * @return la trame, préfixe de longueur compris
+     */
+    static byte[] encoderRequete(byte operation, int identifiant, String... arguments) {
+        try {
+            ByteArrayOutputStream tampon = new ByteArrayOutputStream(32);
+            DataOutputStream sortie = new DataOutputStream(tampon);
+            sortie.writeInt(0);  // Longueur, remplie ci-dessous
+            sortie.writeByte(operation);
+            sortie.writeInt(identifiant);
+            for (String argument : arguments) {
+                sortie.writeUTF(argument);
+            }
+            byte[] trame = tampon.toByteArray();
+            ecrireInt(trame, 0, trame.length - 4);
+            return trame;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // Impossible en mémoire
+        }
+    }
+
+    /**
+     * Encode une réponse dans une trame.
+     *
+     * @param identifiant l'identifiant de la requête
+     * @param statut      {@link #SUCCES} ou {@link #ERREUR}
+     * @param valeur      le résultat de la requête
+     * @return la trame, préfixe de longueur compris
+     */
+    static byte[] encoderReponse(int identifiant, byte statut, boolean valeur) {
+        byte[] trame = new byte[4 + TAILLE_REPONSE];
+        ecrireInt(trame, 0, TAILLE_REPONSE);
+        ecrireInt(trame, 4, identifiant);
+        trame[8] = statut;
+        trame[9] = (byte) (valeur ? 1 : 0);
+        return trame;
+    }
+
+    /**
+     * Écrit un entier gros-boutiste dans un tableau d'octets.
+     */
+    private static void ecrireInt(byte[] tableau, int position, int valeur) {
+        tableau[position] = (byte) (valeur >>> 24);
+        tableau[position + 1] = (byte) (valeur >>> 16);
+        tableau[position + 2] = (byte) (valeur >>> 8);
+        tableau[position + 3] = (byte) valeur;
+    }
+}
@@ -0,0 +1,343 @@
+package service;
+
+import reseau.CivixNet;
+import reseau.Utilisateur;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serveur local de requêtes sur un {@link CivixNet}, accessible par une socket sur l'interface de bouclage.
+ * <p>
+ * Chaque connexion est servie par son propre fil (virtuel lorsque le JDK le permet) qui lit les trames du
+ * {@link Protocole}. Les requêtes de toutes les connexions sont regroupées dans une file unique : un fil de
+ * répartition les retire par lots d'au plus {@link #TAILLE_MAX_LOT} et les évalue ensemble sur le graphe, en
+ * résolvant une seule fois chaque nom d'utilisateur du lot. Les réponses sont déposées dans la file de sortie
+ * de chaque connexion, dont le fil d'écriture les envoie à la suite et ne vide le tampon qu'une fois la file épuisée.
+ * </p>
+ * <p>
+ * Toutes les files sont bornées. Un fil de lecture attend qu'une place se libère dans la file commune, et
+ * une connexion n'a jamais plus de {@code capaciteConnexion} requêtes sans réponse envoyée : au-delà, ses
+ * trames ne sont plus lues et le client est freiné par TCP. Le nombre de connexions servies est lui aussi
+ * borné ; les suivantes attendent dans la file d'attente de la socket d'écoute. Lorsqu'un client ferme son
+ * sens d'envoi, les réponses aux requêtes déjà reçues lui sont envoyées avant la fermeture de la connexion.
+ * </p>
+ * <p>
+ * Le réseau n'est lu que par le fil de répartition ; il ne doit pas être modifié pendant que le serveur
+ * fonctionne (utiliser de préférence {@link CivixNet#figer()}).
+ * </p>
+ */
+public class ServeurRequetes implements Closeable {
+
+    /**
+     * Nombre maximal de requêtes évaluées dans un même lot.
+     */
+    public static final int TAILLE_MAX_LOT = 1024;
+
+    /**
+     * Nombre maximal de connexions servies simultanément, par défaut : 65 536 avec les fils virtuels,
+     * où une connexion ne coûte que sa socket et ses tampons, et 1 024 sans, chaque connexion
+     * occupant alors deux fils plateforme.
+     */
+    public static final int CONNEXIONS_MAX_PAR_DEFAUT = FilsExecution.filsVirtuelsDisponibles() ? 65_536 : 1024;
+
+    /**
+     * Capacité par défaut de la file commune des requêtes.
+     */
+    public static final int CAPACITE_FILE_PAR_DEFAUT = 16 * TAILLE_MAX_LOT;
+
+    /**
+     * Nombre maximal par défaut de requêtes sans réponse envoyée, par connexion.
+     */
+    public static final int CAPACITE_CONNEXION_PAR_DEFAUT = 1024;
+
+    private static final int FILE_ATTENTE_CONNEXIONS = 8192;  // Connexions en attente d'acceptation (plafonnée par le système)
+    private static final byte[] FIN = new byte[0];  // Marqueur de fin de la file de sortie d'une connexion
+
+    private final CivixNet reseau;
+    private final ServerSocket socketServeur;
+    private final ExecutorService fils;
+    private final BlockingQueue<Requete> file;
+    private final Semaphore places;                 // Connexions pouvant encore être servies
+    private final int capaciteConnexion;
+    private final Set<Socket> connexions = ConcurrentHashMap.newKeySet();
+    private volatile boolean actif = true;
+
+    /**
+     * Requête en attente d'évaluation.
+     */
+    private record Requete(byte operation, int identifiant, String[] arguments, Connexion connexion) {
+    }
+
+    /**
+     * État d'une connexion, partagé par ses fils de lecture et d'écriture et par le fil de répartition.
+     */
+    private final class Connexion {
+        private final Socket socket;
+        private final BlockingQueue<byte[]> reponses = new ArrayBlockingQueue<>(capaciteConnexion + 1);  // Réponses et FIN
+        private final Semaphore credits = new Semaphore(capaciteConnexion);  // Requêtes pouvant encore être lues
+        private final AtomicInteger enCours = new AtomicInteger(1);         // Requêtes sans réponse, plus la lecture
+        private final AtomicInteger filsActifs = new AtomicInteger(2);      // Fils de lecture et d'écriture en cours
+
+        Connexion(Socket socket) {
+            this.socket = socket;
+        }
+
+        /**
+         * Dépose une réponse dans la file de sortie.
+         * La file ne peut déborder que si le fil d'écriture s'est arrêté : la réponse est alors abandonnée.
+         */
+        void repondre(byte[] reponse) {
+            reponses.offer(reponse);
+            terminer();
+        }
+
+        /**
+         * Signale la fin d'une requête ou de la lecture. La file de sortie n'est fermée que lorsque la
+         * lecture est terminée et que toutes les requêtes lues ont reçu leur réponse.
+         */
+        void terminer() {
+            if (enCours.decrementAndGet() == 0) {
+                reponses.offer(FIN);
+            }
+        }
+
+        /**
+         * Signale la fin d'un des deux fils de la connexion ; le dernier libère sa place.
+         */
+        void filTermine() {
+            if (filsActifs.decrementAndGet() == 0) {
+                places.release();
+            }
+        }
+    }
+
+    /**
+     * Démarre un serveur sur l'interface de bouclage, avec les capacités par défaut.
+     *
+     * @param reseau le réseau à interroger
+     * @param port   le port d'écoute, ou {@code 0} pour un port libre choisi par le système
+     * @throws IOException si la socket ne peut pas être ouverte
+     */
+    public ServeurRequetes(CivixNet reseau, int port) throws IOException {
+        this(reseau, port, CONNEXIONS_MAX_PAR_DEFAUT, CAPACITE_FILE_PAR_DEFAUT, CAPACITE_CONNEXION_PAR_DEFAUT);
+    }
+
+    /**
+     * Démarre un serveur sur l'interface de bouclage.
+     * <p>
+     * Sans fils virtuels, chaque connexion servie occupe deux fils plateforme d'un groupe de taille fixe.
+     * </p>
+     *
+     * @param reseau            le réseau à interroger
+     * @param port              le port d'écoute, ou {@code 0} pour un port libre choisi par le système
+     * @param connexionsMax     le nombre maximal de connexions servies simultanément
+     * @param capaciteFile      la capacité de la file commune des requêtes
+     * @param capaciteConnexion le nombre maximal de requêtes sans réponse envoyée, par connexion
+     * @throws IOException              si la socket ne peut pas être ouverte
+     * @throws IllegalArgumentException si une capacité est inférieure à 1
+     */
+    public ServeurRequetes(CivixNet reseau, int port, int connexionsMax, int capaciteFile, int capaciteConnexion)
+            throws IOException {
+        if (connexionsMax < 1 || capaciteFile < 1 || capaciteConnexion < 1) {
+            throw new IllegalArgumentException("La capacité est invalide.");
+        }
+        this.reseau = reseau;
+        this.fils = FilsExecution.unFilParTache(2 + 2 * connexionsMax);
+        this.file = new ArrayBlockingQueue<>(capaciteFile);
+        this.places = new Semaphore(connexionsMax);
+        this.capaciteConnexion = capaciteConnexion;
+        this.socketServeur = new ServerSocket(port, FILE_ATTENTE_CONNEXIONS, InetAddress.getLoopbackAddress());
+        fils.execute(this::accepter);
+        fils.execute(this::repartir);
+    }
+
+    /**
+     * Retourne le port d'écoute du serveur.
+     *
+     * @return le port
+     */
+    public int getPort() {
+        return socketServeur.getLocalPort();
+    }
+
+    /**
+     * Accepte les connexions et lance un fil de lecture et un fil d'écriture pour chacune.
+     * Une connexion n'est acceptée que lorsqu'une place est libre.
+     */
+    private void accepter() {
+        while (actif) {
+            try {
+                places.acquire();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                Socket socket = socketServeur.accept();
+                socket.setTcpNoDelay(true);
+                connexions.add(socket);
+                Connexion connexion = new Connexion(socket);
+                fils.execute(() -> lire(connexion));
+                fils.execute(() -> ecrire(connexion));
+            } catch (IOException e) {
+                places.release();
+                if (actif) {
+                    System.err.println("Erreur d'acceptation : " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Lit les requêtes d'une connexion et les ajoute à la file commune.
+     * Le flux d'entrée n'est pas fermé ici : cela fermerait la socket avant l'envoi des dernières réponses.
+     */
+    private void lire(Connexion connexion) {
+        try {
+            DataInputStream entree = new DataInputStream(new BufferedInputStream(connexion.socket.getInputStream()));
+            byte[] trame;
+            while ((trame = Protocole.lireTrame(entree)) != null) {
+                Requete requete = decoder(trame, connexion);
+                connexion.credits.acquire();
+                connexion.enCours.incrementAndGet();
+                file.put(requete);
+            }
+        } catch (IOException e) {
+            // Connexion fermée ou trame invalide : plus aucune requête n'est lue
+        } catch (InterruptedException e) {
+            // Arrêt du serveur
+        } finally {
+            connexion.terminer();
+            connexion.filTermine();
+        }
+    }
+
+    /**
+     * Décode une requête. Une requête mal formée est conservée avec une opération invalide
+     * afin de recevoir une réponse {@link Protocole#ERREUR} ; si la trame est trop courte pour porter
+     * un identifiant, la réponse porte {@link Protocole#IDENTIFIANT_INCONNU}.
+     */
+    private static Requete decoder(byte[] trame, Connexion connexion) {
+        DataInputStream contenu = new DataInputStream(new ByteArrayInputStream(trame));
+        byte operation = -1;
+        int identifiant = Protocole.IDENTIFIANT_INCONNU;
+        String[] arguments = new String[0];
+        try {
+            byte lue = contenu.readByte();
+            identifiant = contenu.readInt();
+            int nombreArguments = lue == Protocole.CHERCHER ? 1 : lue == Protocole.ABONNEMENT_MUTUEL ? 2 : 0;
+            arguments = new String[nombreArguments];
+            for (int i = 0; i < nombreArguments; i++) {
+                arguments[i] = contenu.readUTF();
+            }
+            operation = lue;
+        } catch (IOException e) {
+            // Trame tronquée ou chaîne mal encodée : l'opération reste invalide
+        }
+        return new Requete(operation, identifiant, arguments, connexion);
+    }
+
+    /**
+     * Envoie les réponses d'une connexion dans l'ordre où elles sont produites, puis ferme la connexion
+     * à la réception du marqueur de fin. Chaque réponse écrite rend un crédit au fil de lecture.
+     */
+    private void ecrire(Connexion connexion) {
+        try (OutputStream sortie = new BufferedOutputStream(connexion.socket.getOutputStream(), 8192)) {
+            while (true) {
+                byte[] reponse = connexion.reponses.take();
+                int ecrites = 0;
+                while (reponse != null) {
+                    if (reponse == FIN) {
+                        return;
+                    }
+                    sortie.write(reponse);
+                    ecrites++;
+                    reponse = connexion.reponses.poll();
+                }
+                sortie.flush();  // Un seul envoi pour toutes les réponses disponibles
+                connexion.credits.release(ecrites);
+            }
+        } catch (IOException | InterruptedException e) {
+            // Connexion fermée
+        } finally {
+            connexions.remove(connexion.socket);
+            try {
+                connexion.socket.close();
+            } catch (IOException e) {
+                // Déjà fermée
+            }
+            // Débloquer le fil de lecture ; la socket étant fermée, il s'arrête à la trame suivante
+            connexion.credits.release(capaciteConnexion);
+            connexion.filTermine();
+        }
+    }
+
+    /**
+     * Retire les requêtes de la file par lots et les évalue sur le réseau.
+     */
+    private void repartir() {
+        List<Requete> lot = new ArrayList<>(TAILLE_MAX_LOT);
+        Map<String, Utilisateur> resolus = new HashMap<>();
+
+        while (actif) {
+            try {
+                lot.add(file.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            file.drainTo(lot, TAILLE_MAX_LOT - 1);
+
+            for (Requete requete : lot) {
+                byte statut = Protocole.SUCCES;
+                boolean valeur = false;
+                switch (requete.operation()) {
+                    case Protocole.CHERCHER -> valeur = resoudre(requete.arguments()[0], resolus) != null;
+                    case Protocole.ABONNEMENT_MUTUEL -> {
+                        Utilisateur u1 = resoudre(requete.arguments()[0], resolus);
+                        Utilisateur u2 = resoudre(requete.arguments()[1], resolus);
+                        valeur = u1 != null && u2 != null && reseau.abonnementMutuel(u1, u2);
+                    }
+                    default -> statut = Protocole.ERREUR;
+                }
+                requete.connexion().repondre(Protocole.encoderReponse(requete.identifiant(), statut, valeur));
+            }
+
+            lot.clear();
+            resolus.clear();
+        }
+    }
+
+    /**
+     * Résout un nom d'utilisateur, une seule fois par lot.
+     *
+     * @return l'utilisateur, ou {@code null} s'il n'existe pas
+     */
+    private Utilisateur resoudre(String username, Map<String, Utilisateur> resolus) {
+        Utilisateur utilisateur = resolus.get(username);
+        if (utilisateur == null && !resolus.containsKey(username)) {
+            utilisateur = reseau.chercherUtilisateur(username);
+            resolus.put(username, utilisateur);  // Un nom inconnu est aussi mémorisé, avec null
+        }
+        return utilisateur;
+    }
+
+    /**
+     * Arrête le serveur et ferme toutes les connexions.
+     *
+     * @throws IOException si la socket d'écoute ne peut pas être fermée
+     */
+    @Override
+    public void close() throws IOException {
+        actif = false;
+        socketServeur.close();
+        for (Socket socket : connexions) {
+            socket.close();
+        }
+        fils.shutdownNow();
+    }
+}
@@ -0,0 +1,207 @@
+package tests;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import reseau.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.StringJoiner;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Vérifie que les opérations principales n'allouent pas plus d'octets que les budgets
+ * enregistrés dans {@code budgets-allocations.properties}.
+ * <p>
+ * Chaque opération est d'abord répétée pour laisser le compilateur JIT l'optimiser, puis les
+ * octets alloués par le fil courant sont mesurés sur une série d'appels et ramenés à un appel.
+ * Les opérations de {@link CivixNet} sont mesurées pour chaque stockage ; leurs budgets sont
+ * préfixés par le nom du stockage.
+ * Un budget dépassé signale une régression ; un budget devenu trop large peut être resserré.
+ * </p>
+ */
+class AllocationsTest {
+
+    private static final int TAILLE = 300;            // Utilisateurs du réseau de test
+    private static final int ABONNEMENTS = 5;         // Abonnements par utilisateur
+    private static final int PRECHAUFFAGE = 2_000;
+    private static final String BUDGETS = "budgets-allocations.properties";
+
+    private static com.sun.management.ThreadMXBean fils;
+    private static Properties budgets;
+    private static volatile Object puits;             // Empêche l'élimination des résultats inutilisés
+
+    @TempDir
+    Path dossier;
+
+    @BeforeAll
+    static void chargerBudgets() throws Exception {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "Mesure des allocations non disponible sur cette JVM");
+        fils = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(fils.isThreadAllocatedMemorySupported(), "Mesure des allocations non disponible sur cette JVM");
+        fils.setThreadAllocatedMemoryEnabled(true);
+
+        budgets = new Properties();
+        try (InputStream entree = ouvrirBudgets()) {
+            budgets.load(entree);
+        }
+        assertFalse(budgets.isEmpty(), "Aucun budget dans " + BUDGETS);
+    }
+
+    /**
+     * Ouvre le fichier des budgets : sur le chemin de classes à côté de ce test, sinon dans les sources,
+     * car seuls certains environnements copient les ressources de {@code src/tests} avec les classes compilées.
+     */
+    private static InputStream ouvrirBudgets() throws IOException {
+        InputStream entree = AllocationsTest.class.getResourceAsStream(BUDGETS);
+        if (entree != null) {
+            return entree;
+        }
+        for (Path source : new Path[]{Path.of("src", "tests", BUDGETS), Path.of("TP3_H25", "src", "tests", BUDGETS)}) {
+            if (Files.isRegularFile(source)) {
+                return Files.newInputStream(source);
+            }
+        }
+        return fail(BUDGETS + " introuvable : ni sur le chemin de classes (paquetage tests), ni dans src/tests "
+                + "depuis le dossier courant " + Path.of("").toAbsolutePath()
+                + ". Copier le fichier avec les classes compilées des tests ou lancer les tests depuis le projet.");
+    }
+
+    /**
+     * Retourne un stockage vide à partir du nom de sa classe.
+     */
+    private static StockageGraphe nouveauStockage(String nom) {
+        return switch (nom) {
+            case "StockageCarte" -> new StockageCarte();
+            case "StockageTableaux" -> new StockageTableaux();
+            default -> throw new IllegalArgumentException(nom);
+        };
+    }
+
+    /**
+     * Construit un réseau où chaque utilisateur suit les {@link #ABONNEMENTS} suivants,
+     * et où Membre0 et Membre1 se suivent mutuellement.
+     */
+    private static CivixNet construireReseau(String stockage) {
+        CivixNet reseau = new CivixNet(nouveauStockage(stockage));
+        for (int i = 0; i < TAILLE; i++) {
+            reseau.ajouterUtilisateur("Membre" + i, "MotDePasse12345");
+        }
+        for (int i = 0; i < TAILLE; i++) {
+            Utilisateur u = reseau.obtenirUtilisateurAPartirDuUsername("Membre" + i);
+            for (int j = 1; j <= ABONNEMENTS; j++) {
+                reseau.ajouterAbonnement(u, reseau.obtenirUtilisateurAPartirDuUsername("Membre" + (i + j) % TAILLE));
+            }
+        }
+        reseau.ajouterAbonnement(reseau.obtenirUtilisateurAPartirDuUsername("Membre1"),
+                reseau.obtenirUtilisateurAPartirDuUsername("Membre0"));
+        return reseau;
+    }
+
+    /**
+     * Mesure le nombre moyen d'octets alloués par le fil courant pour une exécution de l'opération.
+     */
+    private static long octetsParOperation(int repetitions, Callable<?> operation) throws Exception {
+        for (int i = 0; i < Math.min(PRECHAUFFAGE, repetitions * 10); i++) {
+            puits = operation.call();
+        }
+        long avant = fils.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < repetitions; i++) {
+            puits = operation.call();
+        }
+        return (fils.getCurrentThreadAllocatedBytes() - avant) / repetitions;
+    }
+
+    /**
+     * Compare une mesure au budget enregistré pour l'opération.
+     */
+    private static void verifierBudget(String operation, long mesure) {
+        String budget = budgets.getProperty(operation);
+        assertNotNull(budget, "Aucun budget enregistré pour " + operation);
+        assertTrue(mesure <= Long.parseLong(budget),
+                operation + " alloue " + mesure + " octets par appel (budget : " + budget + ")");
+    }
+
+    @Test
+    void testConstructionUtilisateur() throws Exception {
+        verifierBudget("Utilisateur.constructeur",
+                octetsParOperation(10_000, () -> new Utilisateur("Membre42", "MotDePasse12345")));
+    }
+
+    @Test
+    void testCompareTo() throws Exception {
+        Utilisateur premier = new Utilisateur("Membre0", "MotDePasse12345");
+        Utilisateur second = new Utilisateur("Membre1", "MotDePasse12345");
+        verifierBudget("Utilisateur.compareTo", octetsParOperation(10_000, () -> premier.compareTo(second)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"StockageCarte", "StockageTableaux"})
+    void testObtenirUtilisateur(String stockage) throws Exception {
+        CivixNet reseau = construireReseau(stockage);
+        verifierBudget(stockage + ".obtenirUtilisateurAPartirDuUsername",
+                octetsParOperation(10_000, () -> reseau.obtenirUtilisateurAPartirDuUsername("Membre150")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"StockageCarte", "StockageTableaux"})
+    void testAbonnementMutuel(String stockage) throws Exception {
+        CivixNet reseau = construireReseau(stockage);
+        Utilisateur premier = reseau.obtenirUtilisateurAPartirDuUsername("Membre0");
+        Utilisateur second = reseau.obtenirUtilisateurAPartirDuUsername("Membre1");
+        assertTrue(reseau.abonnementMutuel(premier, second));
+        verifierBudget(stockage + ".abonnementMutuel",
+                octetsParOperation(10_000, () -> reseau.abonnementMutuel(premier, second)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"StockageCarte", "StockageTableaux"})
+    void testPropagation(String stockage) throws Exception {
+        CivixNet reseau = construireReseau(stockage);
+        verifierBudget(stockage + ".propagationFausseInformationRecursive",
+                octetsParOperation(1_000, () -> reseau.propagationFausseInformationRecursive("Membre0")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"StockageCarte", "StockageTableaux"})
+    void testToString(String stockage) throws Exception {
+        CivixNet reseau = construireReseau(stockage);
+        verifierBudget(stockage + ".toString", octetsParOperation(100, reseau::toString));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"StockageCarte", "StockageTableaux"})
+    void testConstructionReseau(String stockage) throws Exception {
+        verifierBudget(stockage + ".construction", octetsParOperation(50, () -> construireReseau(stockage)));
+    }
+
+    @Test
+    void testChargerDepuisJSON() throws Exception {
+        StringJoiner utilisateurs = new StringJoiner(",\n", "{ \"utilisateurs\": [\n", "\n] }");
+        for (int i = 0; i < TAILLE; i++) {
+            StringJoiner abonnements = new StringJoiner("\", \"", "[\"", "\"]");
+            for (int j = 1; j <= ABONNEMENTS; j++) {
+                abonnements.add("Membre" + (i + j) % TAILLE);
+            }
+            utilisateurs.add("{ \"username\": \"Membre" + i + "\", \"password\": \"MotDePasse12345\", \"abonnements\": " + abonnements + " }");
+        }
+        Path fichier = dossier.resolve("reseau.json");
+        Files.writeString(fichier, utilisateurs.toString());
+
+        verifierBudget("ReseauBuilder.chargerDepuisJSON",
+                octetsParOperation(20, () -> ReseauBuilder.chargerDepuisJSON(fichier.toString())));
+        verifierBudget("ReseauBuilder.chargerDepuisJSON.StockageCarte",
+                octetsParOperation(20, () -> ReseauBuilder.chargerDepuisJSON(fichier.toString(), new StockageCarte())));
+    }
+}
@@ -3,6 +3,7 @@ package tests;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import reseau.CivixNet;
+import reseau.StockageTableaux;
 import reseau.Utilisateur;
 
 import java.util.*;
@@ -138,10 +139,37 @@ class CivixNetTest {
         assertTrue(noms.contains("Alice"));
         assertTrue(noms.contains("Bob"));
         assertTrue(noms.contains("Clara"));
+        assertTrue(noms.contains("David")); // Niveau 2 par Alice -> Clara -> David
 
         // Vérifie l'ordre alphabétique inverse sans doublons
-        assertEquals(List.of("Clara", "Bob", "Alice"), noms);
-        assertEquals(3, noms.size());
+        assertEquals(List.of("David", "Clara", "Bob", "Alice"), noms);
+        assertEquals(4, noms.size());
+    }
+
+    @Test
+    void testPropagationIndependanteDuStockage() {
+        // Enregistrement dans un ordre différent : Clara est parcourue avant Bob
+        CivixNet tableaux = new CivixNet(new StockageTableaux());
+        tableaux.ajouterUtilisateur("Alice", "MotDePasse12345");
+        tableaux.ajouterUtilisateur("Clara", "TestPass78901");
+        tableaux.ajouterUtilisateur("Bob", "SecurePass45678");
+        tableaux.ajouterUtilisateur("David", "AlphaPass99999");
+        for (CivixNet r : List.of(reseau, tableaux)) {
+            Utilisateur a = r.obtenirUtilisateurAPartirDuUsername("Alice");
+            Utilisateur b = r.obtenirUtilisateurAPartirDuUsername("Bob");
+            Utilisateur c = r.obtenirUtilisateurAPartirDuUsername("Clara");
+            Utilisateur d = r.obtenirUtilisateurAPartirDuUsername("David");
+            r.ajouterAbonnement(a, b);
+            r.ajouterAbonnement(a, c);
+            r.ajouterAbonnement(b, c);
+            r.ajouterAbonnement(c, d);
+        }
+
+        List<String> attendu = List.of("David", "Clara", "Bob", "Alice");
+        for (CivixNet r : List.of(reseau, tableaux, reseau.figer(), tableaux.figer())) {
+            List<String> noms = r.propagationFausseInformationRecursive("Alice").stream().map(Utilisateur::getUsername).toList();
+            assertEquals(attendu, noms);
+        }
     }
 
     @Test
@@ -0,0 +1,128 @@
+package tests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reseau.CivixNet;
+import reseau.Communautes;
+import reseau.GrapheCompact;
+import reseau.StockageCarte;
+import reseau.Utilisateur;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommunautesTest {
+
+    private CivixNet reseau;
+
+    @BeforeEach
+    void setUp() {
+        reseau = new CivixNet();
+    }
+
+    private Utilisateur ajouter(String username) {
+        reseau.ajouterUtilisateur(username, "MotDePasse12345");
+        return reseau.obtenirUtilisateurAPartirDuUsername(username);
+    }
+
+    private int id(GrapheCompact graphe, String username) {
+        return graphe.indexDe(reseau.obtenirUtilisateurAPartirDuUsername(username));
+    }
+
+    @Test
+    void testComposantesFortementConnexes() {
+        Utilisateur alice = ajouter("Alice");
+        Utilisateur bob = ajouter("Bob");
+        Utilisateur clara = ajouter("Clara");
+        Utilisateur david = ajouter("David");
+        Utilisateur eve = ajouter("Eve");
+
+        reseau.ajouterAbonnement(alice, bob);    // Alice -> Bob -> Clara -> Alice (cycle)
+        reseau.ajouterAbonnement(bob, clara);
+        reseau.ajouterAbonnement(clara, alice);
+        reseau.ajouterAbonnement(clara, david);  // David <-> Eve
+        reseau.ajouterAbonnement(david, eve);
+        reseau.ajouterAbonnement(eve, david);
+
+        GrapheCompact graphe = GrapheCompact.depuis(reseau);
+        int[] composantes = Communautes.composantesFortementConnexes(graphe);
+
+        assertEquals(composantes[id(graphe, "Alice")], composantes[id(graphe, "Bob")]);
+        assertEquals(composantes[id(graphe, "Alice")], composantes[id(graphe, "Clara")]);
+        assertEquals(composantes[id(graphe, "David")], composantes[id(graphe, "Eve")]);
+        assertNotEquals(composantes[id(graphe, "Alice")], composantes[id(graphe, "David")]);
+
+        // David et Eve sont terminés en premier (ordre topologique inverse)
+        assertEquals(0, composantes[id(graphe, "David")]);
+        assertEquals(1, composantes[id(graphe, "Alice")]);
+    }
+
+    @Test
+    void testComposantesSansAbonnements() {
+        ajouter("Alice");
+        ajouter("Bob");
+
+        int[] composantes = Communautes.composantesFortementConnexes(reseau);
+        assertEquals(2, composantes.length);
+        assertNotEquals(composantes[0], composantes[1]);
+    }
+
+    @Test
+    void testComposantesChaineProfonde() {
+        // Construite directement dans le stockage, avec les instances conservées : aucune recherche par nom
+        int taille = 100_000;
+        StockageCarte stockage = new StockageCarte();
+        Utilisateur[] chaine = new Utilisateur[taille];
+        for (int i = 0; i < taille; i++) {
+            chaine[i] = new Utilisateur("u" + i, "MotDePasse12345");
+            stockage.ajouterUtilisateur(chaine[i]);
+        }
+        for (int i = 0; i < taille; i++) {
+            stockage.ajouterAbonnement(chaine[i], chaine[(i + 1) % taille]);  // Un seul grand cycle
+        }
+        reseau = new CivixNet(stockage);
+
+        int[] composantes = assertDoesNotThrow(() -> Communautes.composantesFortementConnexes(reseau));
+        for (int c : composantes) {
+            assertEquals(0, c);
+        }
+    }
+
+    @Test
+    void testPropagationEtiquettesDeuxGroupes() {
+        String[] groupeA = {"Alice", "Bob", "Clara", "David"};
+        String[] groupeB = {"Eve", "Frank", "George", "Hugo"};
+        for (String nom : groupeA) ajouter(nom);
+        for (String nom : groupeB) ajouter(nom);
+
+        for (String[] groupe : new String[][]{groupeA, groupeB}) {
+            for (String de : groupe) {
+                for (String vers : groupe) {
+                    if (!de.equals(vers)) {
+                        reseau.ajouterAbonnement(reseau.obtenirUtilisateurAPartirDuUsername(de),
+                                reseau.obtenirUtilisateurAPartirDuUsername(vers));
+                    }
+                }
+            }
+        }
+        // Un seul pont entre les deux groupes
+        reseau.ajouterAbonnement(reseau.obtenirUtilisateurAPartirDuUsername("David"),
+                reseau.obtenirUtilisateurAPartirDuUsername("Eve"));
+
+        GrapheCompact graphe = GrapheCompact.depuis(reseau);
+        int[] communautes = Communautes.propagationEtiquettes(graphe, Communautes.ITERATIONS_PAR_DEFAUT);
+
+        for (String nom : groupeA) {
+            assertEquals(communautes[id(graphe, "Alice")], communautes[id(graphe, nom)]);
+        }
+        for (String nom : groupeB) {
+            assertEquals(communautes[id(graphe, "Eve")], communautes[id(graphe, nom)]);
+        }
+        assertNotEquals(communautes[id(graphe, "Alice")], communautes[id(graphe, "Eve")]);
+    }
+
+    @Test
+    void testPropagationEtiquettesIterationsInvalides() {
+        GrapheCompact graphe = GrapheCompact.depuis(reseau);
+        assertThrows(IllegalArgumentException.class, () -> Communautes.propagationEtiquettes(graphe, -1));
+    }
+}
@@ -0,0 +1,151 @@
+package tests;
+
+import org.junit.jupiter.api.Test;
+import reseau.EnsembleEntiers;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnsembleEntiersTest {
+
+    private static int[] trie(Set<Integer> valeurs) {
+        return valeurs.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    @Test
+    void testAjouterRetirerContient() {
+        EnsembleEntiers e = new EnsembleEntiers();
+        assertTrue(e.estVide());
+        assertTrue(e.ajouter(42));
+        assertFalse(e.ajouter(42));
+        assertTrue(e.ajouter(7));
+        assertTrue(e.contient(7));
+        assertFalse(e.contient(8));
+        assertArrayEquals(new int[]{7, 42}, e.versTableau());
+
+        assertTrue(e.retirer(7));
+        assertFalse(e.retirer(7));
+        assertEquals(1, e.taille());
+        assertThrows(IllegalArgumentException.class, () -> e.ajouter(-1));
+    }
+
+    @Test
+    void testConversionBitmapEtRetour() {
+        EnsembleEntiers e = new EnsembleEntiers(100);
+        for (int i = 0; i < 100; i++) {
+            e.ajouter(i * 3);
+        }
+        assertFalse(e.estBitmap());
+
+        e.ajouter(1_000_000);
+        assertTrue(e.estBitmap());
+        assertEquals(101, e.taille());
+        assertTrue(e.contient(297));
+        assertTrue(e.contient(1_000_000));
+        assertFalse(e.contient(298));
+
+        // Sous la moitié du seuil, l'ensemble redevient un tableau
+        for (int i = 0; i < 60; i++) {
+            e.retirer(i * 3);
+        }
+        assertFalse(e.estBitmap());
+        assertEquals(41, e.taille());
+        assertTrue(e.contient(1_000_000));
+    }
+
+    @Test
+    void testGrosConteneurs() {
+        // Plus de 4096 valeurs dans un même bloc de 65 536 : conteneur bitmap interne
+        EnsembleEntiers e = new EnsembleEntiers(10);
+        for (int i = 0; i < 10_000; i++) {
+            e.ajouter(i);
+        }
+        assertEquals(10_000, e.taille());
+        for (int i = 0; i < 10_000; i += 2) {
+            e.retirer(i);
+        }
+        assertEquals(5_000, e.taille());
+        assertTrue(e.contient(9_999));
+        assertFalse(e.contient(9_998));
+        int[] valeurs = e.versTableau();
+        assertEquals(1, valeurs[0]);
+        assertEquals(9_999, valeurs[valeurs.length - 1]);
+    }
+
+    @Test
+    void testIntersectionEtUnionComparees() {
+        Random aleatoire = new Random(2025);
+        int[] seuils = {1, 64, EnsembleEntiers.SEUIL_PAR_DEFAUT};
+        int[] tailles = {0, 10, 500, 20_000};
+
+        for (int seuil : seuils) {
+            for (int tailleA : tailles) {
+                for (int tailleB : tailles) {
+                    EnsembleEntiers a = new EnsembleEntiers(seuil);
+                    EnsembleEntiers b = new EnsembleEntiers(seuil);
+                    Set<Integer> refA = new TreeSet<>();
+                    Set<Integer> refB = new TreeSet<>();
+                    for (int i = 0; i < tailleA; i++) {
+                        int v = aleatoire.nextInt(200_000);
+                        a.ajouter(v);
+                        refA.add(v);
+                    }
+                    for (int i = 0; i < tailleB; i++) {
+                        int v = aleatoire.nextInt(200_000);
+                        b.ajouter(v);
+                        refB.add(v);
+                    }
+
+                    Set<Integer> inter = new TreeSet<>(refA);
+                    inter.retainAll(refB);
+                    Set<Integer> union = new TreeSet<>(refA);
+                    union.addAll(refB);
+
+                    assertArrayEquals(trie(inter), EnsembleEntiers.intersection(a, b).versTableau());
+                    assertArrayEquals(trie(union), EnsembleEntiers.union(a, b).versTableau());
+                    EnsembleEntiers cumul = new EnsembleEntiers(seuil);
+                    cumul.ajouterTout(a);
+                    cumul.ajouterTout(b);
+                    assertArrayEquals(trie(union), cumul.versTableau());
+                    assertEquals(union.size(), cumul.taille());
+                    assertEquals(inter.size(), EnsembleEntiers.tailleIntersection(a, b));
+                    assertEquals(refA.size(), a.taille());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testAjouterToutAvecDoublons() {
+        // Multiples de 2 et de 3 : un tiers de doublons, dans des conteneurs tableaux puis bitmaps
+        for (int seuil : new int[]{10_000, 100, EnsembleEntiers.SEUIL_PAR_DEFAUT}) {
+            for (int borne : new int[]{3_000, 30_000}) {
+                EnsembleEntiers pairs = new EnsembleEntiers(seuil);
+                EnsembleEntiers multiplesDe3 = new EnsembleEntiers(seuil);
+                Set<Integer> reference = new TreeSet<>();
+                for (int v = 0; v < borne; v += 2) {
+                    pairs.ajouter(v);
+                    reference.add(v);
+                }
+                for (int v = 0; v < borne; v += 3) {
+                    multiplesDe3.ajouter(v);
+                    reference.add(v);
+                }
+
+                pairs.ajouterTout(multiplesDe3);
+                assertArrayEquals(trie(reference), pairs.versTableau());
+                assertEquals(reference.size(), pairs.taille());
+
+                pairs.ajouterTout(pairs);          // Sans effet
+                pairs.ajouterTout(multiplesDe3);   // Déjà présents
+                assertEquals(reference.size(), pairs.taille());
+            }
+        }
+    }
+
+    @Test
+    void testSeuilInvalide() {
+        assertThrows(IllegalArgumentException.class, () -> new EnsembleEntiers(0));
+    }
+}
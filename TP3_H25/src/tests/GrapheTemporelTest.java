@@ -0,0 +1,258 @@
+package tests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reseau.CivixNet;
+import reseau.GrapheTemporel;
+import reseau.Utilisateur;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrapheTemporelTest {
+
+    private static final long JOUR = TimeUnit.DAYS.toMillis(1);
+
+    private final AtomicLong maintenant = new AtomicLong(10 * JOUR);
+    private GrapheTemporel graphe;
+    private Utilisateur alice, bob, clara, david;
+
+    @BeforeEach
+    void setUp() {
+        graphe = new GrapheTemporel(GrapheTemporel.RETENTION_ILLIMITEE, maintenant::get);
+        alice = new Utilisateur("Alice", "MotDePasse12345");
+        bob = new Utilisateur("Bob", "SecurePass45678");
+        clara = new Utilisateur("Clara", "TestPass78901");
+        david = new Utilisateur("David", "AlphaPass99999");
+        for (Utilisateur u : List.of(alice, bob, clara, david)) {
+            graphe.ajouterUtilisateur(u);
+        }
+    }
+
+    private static List<String> noms(List<Utilisateur> utilisateurs) {
+        return utilisateurs.stream().map(Utilisateur::getUsername).toList();
+    }
+
+    @Test
+    void testAbonnementsEntre() {
+        graphe.ajouterAbonnement(alice, clara, 3 * JOUR);
+        graphe.ajouterAbonnement(alice, bob, 1 * JOUR);    // Inséré avant Clara malgré l'ordre d'ajout
+        graphe.ajouterAbonnement(alice, david, 5 * JOUR);
+
+        assertEquals(List.of("Bob", "Clara", "David"), noms(graphe.abonnementsEntre(alice, Long.MIN_VALUE, Long.MAX_VALUE)));
+        assertEquals(List.of("Clara"), noms(graphe.abonnementsEntre(alice, 2 * JOUR, 4 * JOUR)));
+        assertEquals(List.of("Bob", "Clara"), noms(graphe.abonnementsEntre(alice, 1 * JOUR, 3 * JOUR)));  // Bornes incluses
+        assertTrue(graphe.abonnementsEntre(alice, 6 * JOUR, 7 * JOUR).isEmpty());
+    }
+
+    @Test
+    void testAbonnementExistantConserveSonInstant() {
+        assertTrue(graphe.ajouterAbonnement(alice, bob, 1 * JOUR));
+        assertFalse(graphe.ajouterAbonnement(alice, bob, 4 * JOUR));
+        assertTrue(graphe.suit(alice, bob, 0, 1 * JOUR));
+        assertEquals(1, graphe.nombreAbonnements());
+    }
+
+    @Test
+    void testRetirerAbonnement() {
+        graphe.ajouterAbonnement(alice, bob, 1 * JOUR);
+        graphe.ajouterAbonnement(alice, clara, 2 * JOUR);
+        assertTrue(graphe.retirerAbonnement(alice, bob));
+        assertFalse(graphe.retirerAbonnement(alice, bob));
+        assertFalse(graphe.suit(alice, bob, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertFalse(graphe.suit(alice, bob, Long.MIN_VALUE, 1 * JOUR));  // Pas d'historique : absent des fenêtres passées
+        assertTrue(graphe.suit(alice, clara, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testAbonnementMutuelAuTemps() {
+        graphe.ajouterAbonnement(alice, bob, 1 * JOUR);
+        graphe.ajouterAbonnement(bob, alice, 4 * JOUR);
+
+        assertFalse(graphe.abonnementMutuel(alice, bob, Long.MIN_VALUE, 3 * JOUR));  // Bob ne suivait pas encore Alice
+        assertTrue(graphe.abonnementMutuel(alice, bob, Long.MIN_VALUE, 4 * JOUR));
+        assertTrue(graphe.abonnementMutuel(bob, alice, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertFalse(graphe.abonnementMutuel(alice, bob, 2 * JOUR, 5 * JOUR));        // Abonnement d'Alice trop ancien
+        assertFalse(graphe.abonnementMutuel(alice, clara, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testPropagationDansUneFenetre() {
+        graphe.ajouterAbonnement(alice, bob, 9 * JOUR);
+        graphe.ajouterAbonnement(bob, clara, 9 * JOUR + 1);
+        graphe.ajouterAbonnement(alice, david, 2 * JOUR);   // Trop ancien pour les dernières 24 h
+
+        long debut = maintenant.get() - JOUR;
+        assertEquals(List.of("Clara", "Bob", "Alice"), noms(graphe.propagation(alice, debut, maintenant.get(), 2)));
+        assertEquals(List.of("Bob", "Alice"), noms(graphe.propagation(alice, debut, maintenant.get(), 1)));
+        assertEquals(List.of("David", "Alice"), noms(graphe.propagation(alice, Long.MIN_VALUE, 5 * JOUR, 2)));
+        assertEquals(List.of("Alice"), noms(graphe.propagation(alice, debut, maintenant.get(), 0)));
+    }
+
+    @Test
+    void testPropagationNiveauMinimal() {
+        // Clara est à un niveau par Alice -> Clara et à deux niveaux par Alice -> Bob -> Clara
+        graphe.ajouterAbonnement(alice, bob, 1);
+        graphe.ajouterAbonnement(bob, clara, 2);
+        graphe.ajouterAbonnement(alice, clara, 3);
+        graphe.ajouterAbonnement(clara, david, 4);
+
+        assertEquals(List.of("David", "Clara", "Bob", "Alice"), noms(graphe.propagation(alice, 0, 10, 2)));
+    }
+
+    @Test
+    void testPropagationCommeCivixNet() {
+        // Raccourcis et cycles : les deux propagations comptent chaque utilisateur à son niveau minimal
+        CivixNet reseau = new CivixNet();
+        for (String nom : List.of("Alice", "Bob", "Clara", "David", "Eve", "Fred")) {
+            reseau.ajouterUtilisateur(nom, "MotDePasse12345");
+        }
+        String[][] abonnements = {{"Alice", "Bob"}, {"Bob", "Clara"}, {"Alice", "Clara"}, {"Clara", "David"},
+                {"David", "Eve"}, {"Clara", "Alice"}, {"Bob", "Fred"}, {"Fred", "Eve"}};
+        for (String[] ab : abonnements) {
+            reseau.ajouterAbonnement(reseau.obtenirUtilisateurAPartirDuUsername(ab[0]),
+                    reseau.obtenirUtilisateurAPartirDuUsername(ab[1]));
+        }
+
+        GrapheTemporel copie = GrapheTemporel.depuis(reseau, JOUR, GrapheTemporel.RETENTION_ILLIMITEE, maintenant::get);
+        for (Utilisateur u : reseau.utilisateurs()) {
+            assertEquals(reseau.propagationFausseInformationRecursive(u.getUsername()),
+                    copie.propagation(u, Long.MIN_VALUE, Long.MAX_VALUE, 2));
+        }
+    }
+
+    @Test
+    void testPropagationInvalide() {
+        assertThrows(IllegalArgumentException.class, () -> graphe.propagation(alice, 0, 1, -1));
+        Utilisateur inconnu = new Utilisateur("Zoe", "MotDePasse12345");
+        assertThrows(RuntimeException.class, () -> graphe.propagation(inconnu, 0, 1, 2));
+    }
+
+    @Test
+    void testExpirationEtCompaction() {
+        graphe = new GrapheTemporel(2 * JOUR, maintenant::get);
+        for (Utilisateur u : List.of(alice, bob, clara, david)) {
+            graphe.ajouterUtilisateur(u);
+        }
+        graphe.ajouterAbonnement(alice, bob, 7 * JOUR);
+        graphe.ajouterAbonnement(alice, clara, 9 * JOUR);
+        graphe.ajouterAbonnement(bob, alice, 9 * JOUR);
+
+        // L'abonnement d'Alice à Bob a expiré : ignoré avant même la compaction
+        assertFalse(graphe.suit(alice, bob, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertFalse(graphe.abonnementMutuel(alice, bob, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(3, graphe.nombreAbonnements());
+
+        assertEquals(1, graphe.compacter());
+        assertEquals(2, graphe.nombreAbonnements());
+        assertEquals(List.of("Clara"), noms(graphe.abonnementsEntre(alice, Long.MIN_VALUE, Long.MAX_VALUE)));
+
+        // Un abonnement expiré peut être renouvelé
+        assertTrue(graphe.ajouterAbonnement(alice, bob, maintenant.get()));
+        assertTrue(graphe.abonnementMutuel(alice, bob, Long.MIN_VALUE, Long.MAX_VALUE));
+
+        maintenant.addAndGet(5 * JOUR);
+        assertEquals(3, graphe.compacter());
+        assertEquals(0, graphe.nombreAbonnements());
+    }
+
+    @Test
+    void testOperationsAleatoiresCommeReference() {
+        // Ajouts dans le désordre, retraits, renouvellements et compactions, comparés à une carte de référence
+        graphe = new GrapheTemporel(50, maintenant::get);
+        List<Utilisateur> membres = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            membres.add(new Utilisateur("Membre" + i, "MotDePasse12345"));
+            graphe.ajouterUtilisateur(membres.get(i));
+        }
+        Map<List<Integer>, Long> reference = new HashMap<>();
+        Random aleatoire = new Random(34);
+        maintenant.set(100);
+
+        for (int etape = 0; etape < 5_000; etape++) {
+            int de = aleatoire.nextInt(20);
+            int vers = aleatoire.nextInt(20);
+            List<Integer> arc = List.of(de, vers);
+            long limite = maintenant.get() - 50;
+            switch (aleatoire.nextInt(6)) {
+                case 0, 1, 2 -> {
+                    long instant = maintenant.get() - aleatoire.nextInt(40);
+                    Long existant = reference.get(arc);
+                    boolean attendu = existant == null || existant < limite;
+                    assertEquals(attendu, graphe.ajouterAbonnement(membres.get(de), membres.get(vers), instant));
+                    if (attendu) {
+                        reference.put(arc, instant);
+                    }
+                }
+                case 3 -> assertEquals(reference.remove(arc) != null, graphe.retirerAbonnement(membres.get(de), membres.get(vers)));
+                case 4 -> maintenant.addAndGet(aleatoire.nextInt(5));
+                default -> {
+                    graphe.compacter();
+                    reference.values().removeIf(instant -> instant < limite);
+                }
+            }
+
+            Long instant = reference.get(arc);
+            boolean actif = instant != null && instant >= maintenant.get() - 50;
+            assertEquals(actif, graphe.suit(membres.get(de), membres.get(vers), Long.MIN_VALUE, Long.MAX_VALUE));
+            if (actif) {
+                assertTrue(graphe.suit(membres.get(de), membres.get(vers), instant, instant));
+                assertFalse(graphe.suit(membres.get(de), membres.get(vers), instant + 1, Long.MAX_VALUE));
+            }
+        }
+    }
+
+    @Test
+    void testCompactionEnArrierePlan() throws InterruptedException {
+        graphe = new GrapheTemporel(JOUR, maintenant::get);
+        graphe.ajouterUtilisateur(alice);
+        graphe.ajouterUtilisateur(bob);
+        graphe.ajouterAbonnement(alice, bob, 0);
+        graphe.ajouterAbonnement(bob, alice, maintenant.get());
+
+        try (GrapheTemporel g = graphe) {
+            g.demarrerCompaction(10, TimeUnit.MILLISECONDS);
+            assertThrows(IllegalStateException.class, () -> g.demarrerCompaction(10, TimeUnit.MILLISECONDS));
+            long limite = System.currentTimeMillis() + 5_000;
+            while (g.nombreAbonnements() > 1 && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, g.nombreAbonnements());
+        }
+    }
+
+    @Test
+    void testInstantane() {
+        graphe.ajouterAbonnement(alice, bob, 1 * JOUR);
+        graphe.ajouterAbonnement(bob, alice, 2 * JOUR);
+        graphe.ajouterAbonnement(clara, alice, 5 * JOUR);
+
+        CivixNet auJour3 = graphe.instantane(Long.MIN_VALUE, 3 * JOUR);
+        assertEquals(4, auJour3.nombreUtilisateurs());
+        Utilisateur a = auJour3.obtenirUtilisateurAPartirDuUsername("Alice");
+        Utilisateur b = auJour3.obtenirUtilisateurAPartirDuUsername("Bob");
+        Utilisateur c = auJour3.obtenirUtilisateurAPartirDuUsername("Clara");
+        assertTrue(auJour3.abonnementMutuel(a, b));
+        assertTrue(auJour3.abonnementsDe(c).isEmpty());
+    }
+
+    @Test
+    void testDepuisReseau() {
+        CivixNet reseau = new CivixNet();
+        reseau.ajouterUtilisateur("Alice", "MotDePasse12345");
+        reseau.ajouterUtilisateur("Bob", "SecurePass45678");
+        Utilisateur a = reseau.obtenirUtilisateurAPartirDuUsername("Alice");
+        Utilisateur b = reseau.obtenirUtilisateurAPartirDuUsername("Bob");
+        reseau.ajouterAbonnement(a, b);
+
+        GrapheTemporel copie = GrapheTemporel.depuis(reseau, 4 * JOUR, GrapheTemporel.RETENTION_ILLIMITEE, maintenant::get);
+        assertSame(a, copie.chercher("Alice"));
+        assertSame(a, copie.chercher("alice"));   // Comme l'enregistrement, la recherche ignore la casse
+        assertNull(copie.chercher("Zoe"));
+        assertTrue(copie.suit(a, b, 4 * JOUR, 4 * JOUR));
+        assertFalse(copie.suit(a, b, Long.MIN_VALUE, 3 * JOUR));
+    }
+}
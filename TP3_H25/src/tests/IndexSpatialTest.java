@@ -0,0 +1,163 @@
+package tests;
+
+import app.IndexSpatial;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexSpatialTest {
+
+    private static final float TAILLE_CELLULE = 60;
+
+    /**
+     * Nœuds dans le rectangle, par un parcours linéaire de toutes les positions.
+     */
+    private static List<Integer> visiterLineaire(float[] xs, float[] ys, int n, float x0, float y0, float x1, float y1) {
+        List<Integer> resultat = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (xs[i] >= x0 && xs[i] <= x1 && ys[i] >= y0 && ys[i] <= y1) {
+                resultat.add(i);
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Distance au carré du nœud le plus proche à moins de {@code rayon}, ou -1 si aucun.
+     */
+    private static float distancePlusProcheLineaire(float[] xs, float[] ys, int n, float x, float y, float rayon) {
+        float meilleure = -1;
+        for (int i = 0; i < n; i++) {
+            float d = distance(xs, ys, i, x, y);
+            if (d < rayon * rayon && (meilleure < 0 || d < meilleure)) {
+                meilleure = d;
+            }
+        }
+        return meilleure;
+    }
+
+    private static float distance(float[] xs, float[] ys, int i, float x, float y) {
+        float dx = xs[i] - x;
+        float dy = ys[i] - y;
+        return dx * dx + dy * dy;
+    }
+
+    private static List<Integer> visiter(IndexSpatial index, float x0, float y0, float x1, float y1) {
+        List<Integer> resultat = new ArrayList<>();
+        index.visiter(x0, y0, x1, y1, resultat::add);
+        resultat.sort(null);
+        return resultat;
+    }
+
+    /**
+     * Compare les deux requêtes de l'index au parcours linéaire.
+     */
+    private static void verifier(IndexSpatial index, float[] xs, float[] ys, int n,
+                                 float x0, float y0, float x1, float y1) {
+        assertEquals(visiterLineaire(xs, ys, n, x0, y0, x1, y1), visiter(index, x0, y0, x1, y1),
+                "visiter(" + x0 + ", " + y0 + ", " + x1 + ", " + y1 + ")");
+
+        float rayon = Math.max(1, Math.min(x1 - x0, y1 - y0));
+        float attendue = distancePlusProcheLineaire(xs, ys, n, x0, y0, rayon);
+        int trouve = index.plusProche(x0, y0, rayon);
+        if (attendue < 0) {
+            assertEquals(-1, trouve, "plusProche(" + x0 + ", " + y0 + ", " + rayon + ")");
+        } else {
+            assertTrue(trouve >= 0 && trouve < n, "plusProche(" + x0 + ", " + y0 + ", " + rayon + ")");
+            assertEquals(attendue, distance(xs, ys, trouve, x0, y0));  // En cas d'égalité, n'importe lequel
+        }
+    }
+
+    @Test
+    void testPositionsAleatoires() {
+        Random aleatoire = new Random(42);
+        int n = 2000;
+        float[] xs = new float[n + 10];  // Les positions au-delà de n ne sont pas indexées
+        float[] ys = new float[n + 10];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = aleatoire.nextFloat() * 3000 - 500;
+            ys[i] = aleatoire.nextFloat() * 2000 - 200;
+        }
+        IndexSpatial index = new IndexSpatial(xs, ys, n, TAILLE_CELLULE);
+
+        for (int r = 0; r < 500; r++) {
+            float x0 = aleatoire.nextFloat() * 4000 - 1000;
+            float y0 = aleatoire.nextFloat() * 3000 - 700;
+            verifier(index, xs, ys, n, x0, y0, x0 + aleatoire.nextFloat() * 400, y0 + aleatoire.nextFloat() * 400);
+        }
+        verifier(index, xs, ys, n, -1e6f, -1e6f, 1e6f, 1e6f);  // Tout l'index
+    }
+
+    @Test
+    void testBordsDeCellules() {
+        // Grille de 10 × 10 nœuds posés exactement sur les bords des cellules
+        int n = 100;
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = (i % 10) * TAILLE_CELLULE;
+            ys[i] = (i / 10) * TAILLE_CELLULE;
+        }
+        IndexSpatial index = new IndexSpatial(xs, ys, n, TAILLE_CELLULE);
+
+        for (int a = 0; a < 10; a++) {
+            for (int b = a; b < 10; b++) {
+                float x0 = a * TAILLE_CELLULE, x1 = b * TAILLE_CELLULE;
+                verifier(index, xs, ys, n, x0, x0, x1, x1);  // Bornes incluses, sur les nœuds
+                verifier(index, xs, ys, n, x0, 0, x1, 9 * TAILLE_CELLULE);
+                verifier(index, xs, ys, n, Math.nextUp(x0), Math.nextUp(x0), Math.nextDown(x1), x1);
+            }
+        }
+        assertEquals(List.of(11), visiter(index, TAILLE_CELLULE, TAILLE_CELLULE, TAILLE_CELLULE, TAILLE_CELLULE));
+        assertEquals(11, index.plusProche(TAILLE_CELLULE, TAILLE_CELLULE, 1));
+    }
+
+    @Test
+    void testRequetesHorsDesBornes() {
+        float[] xs = {0, 100, 200, 300};
+        float[] ys = {0, 50, 100, 150};
+        IndexSpatial index = new IndexSpatial(xs, ys, xs.length, TAILLE_CELLULE);
+
+        assertEquals(List.of(), visiter(index, -500, -500, -1, -1));
+        assertEquals(List.of(), visiter(index, 301, 151, 900, 900));
+        assertEquals(List.of(), visiter(index, -500, 200, 900, 900));
+        assertEquals(List.of(0, 1, 2, 3), visiter(index, -1e9f, -1e9f, 1e9f, 1e9f));
+        assertEquals(List.of(0, 1), visiter(index, -1000, -1000, 150, 75));
+
+        assertEquals(-1, index.plusProche(-100, -100, 50));
+        assertEquals(0, index.plusProche(-20, -20, 50));
+        assertEquals(3, index.plusProche(330, 180, 50));
+        assertEquals(-1, index.plusProche(1e7f, 1e7f, 100));
+    }
+
+    @Test
+    void testTousLesNoeudsAuMemePoint() {
+        int n = 50;
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        Arrays.fill(xs, 7.5f);
+        Arrays.fill(ys, -3f);
+        IndexSpatial index = new IndexSpatial(xs, ys, n, TAILLE_CELLULE);
+
+        assertEquals(visiterLineaire(xs, ys, n, 7.5f, -3f, 7.5f, -3f), visiter(index, 7.5f, -3f, 7.5f, -3f));
+        assertEquals(n, visiter(index, 0, -10, 10, 0).size());
+        assertEquals(List.of(), visiter(index, 8, -3, 20, 0));
+        int trouve = index.plusProche(8, -3, 1);
+        assertTrue(trouve >= 0 && trouve < n);
+        assertEquals(-1, index.plusProche(9, -3, 1));
+    }
+
+    @Test
+    void testIndexVide() {
+        IndexSpatial index = new IndexSpatial(new float[0], new float[0], 0, TAILLE_CELLULE);
+
+        assertEquals(List.of(), visiter(index, -1e6f, -1e6f, 1e6f, 1e6f));
+        assertEquals(List.of(), visiter(index, 0, 0, 0, 0));
+        assertEquals(-1, index.plusProche(0, 0, 1e6f));
+    }
+}
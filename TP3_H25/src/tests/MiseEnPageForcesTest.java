@@ -0,0 +1,112 @@
+package tests;
+
+import app.MiseEnPageForces;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reseau.CivixNet;
+import reseau.GrapheCompact;
+import reseau.Utilisateur;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MiseEnPageForcesTest {
+
+    private CivixNet reseau;
+
+    @BeforeEach
+    void setUp() {
+        reseau = new CivixNet();
+    }
+
+    private void relier(String de, String vers) {
+        reseau.ajouterAbonnement(reseau.obtenirUtilisateurAPartirDuUsername(de),
+                reseau.obtenirUtilisateurAPartirDuUsername(vers));
+    }
+
+    private static double distance(float[] xs, float[] ys, int a, int b) {
+        return Math.hypot(xs[a] - xs[b], ys[a] - ys[b]);
+    }
+
+    @Test
+    void testGroupesSepares() {
+        String[] noms = {"Alice", "Bob", "Clara", "David", "Eve", "Frank"};
+        for (String nom : noms) {
+            reseau.ajouterUtilisateur(nom, "MotDePasse12345");
+        }
+        // Deux triangles sans lien entre eux
+        relier("Alice", "Bob");
+        relier("Bob", "Clara");
+        relier("Clara", "Alice");
+        relier("David", "Eve");
+        relier("Eve", "Frank");
+        relier("Frank", "David");
+
+        GrapheCompact graphe = GrapheCompact.depuis(reseau);
+        float[] xs = new float[noms.length];
+        float[] ys = new float[noms.length];
+        MiseEnPageForces miseEnPage = new MiseEnPageForces();
+        miseEnPage.initialiser(graphe, xs, ys, 800, 600);
+        while (miseEnPage.iterer(graphe, xs, ys)) {
+            // Itérer jusqu'à stabilisation
+        }
+
+        for (int i = 0; i < noms.length; i++) {
+            assertTrue(Float.isFinite(xs[i]) && Float.isFinite(ys[i]));
+        }
+        int alice = graphe.indexDe(reseau.obtenirUtilisateurAPartirDuUsername("Alice"));
+        int bob = graphe.indexDe(reseau.obtenirUtilisateurAPartirDuUsername("Bob"));
+        int eve = graphe.indexDe(reseau.obtenirUtilisateurAPartirDuUsername("Eve"));
+        assertTrue(distance(xs, ys, alice, bob) < distance(xs, ys, alice, eve));
+        assertTrue(distance(xs, ys, alice, bob) > 1);  // Les nœuds ne sont pas superposés
+    }
+
+    @Test
+    void testNoeudsSuperposes() {
+        reseau.ajouterUtilisateur("Alice", "MotDePasse12345");
+        reseau.ajouterUtilisateur("Bob", "MotDePasse12345");
+        GrapheCompact graphe = GrapheCompact.depuis(reseau);
+        float[] xs = {100, 100};
+        float[] ys = {100, 100};
+
+        MiseEnPageForces miseEnPage = new MiseEnPageForces();
+        miseEnPage.initialiser(graphe, new float[2], new float[2], 800, 600);
+        miseEnPage.iterer(graphe, xs, ys);
+
+        assertTrue(Float.isFinite(xs[0]) && Float.isFinite(xs[1]));
+        assertTrue(distance(xs, ys, 0, 1) > 0);
+    }
+
+    @Test
+    void testGrapheVide() {
+        GrapheCompact graphe = GrapheCompact.depuis(reseau);
+        MiseEnPageForces miseEnPage = new MiseEnPageForces();
+        miseEnPage.initialiser(graphe, new float[0], new float[0], 800, 600);
+        assertFalse(miseEnPage.iterer(graphe, new float[0], new float[0]));
+    }
+
+    @Test
+    void testGrandGraphe() {
+        int taille = 5_000;
+        Utilisateur precedent = null;
+        for (int i = 0; i < taille; i++) {
+            reseau.ajouterUtilisateur("u" + i, "MotDePasse12345");
+            Utilisateur courant = reseau.obtenirUtilisateurAPartirDuUsername("u" + i);
+            if (precedent != null) {
+                reseau.ajouterAbonnement(precedent, courant);
+            }
+            precedent = courant;
+        }
+
+        GrapheCompact graphe = GrapheCompact.depuis(reseau);
+        float[] xs = new float[taille];
+        float[] ys = new float[taille];
+        MiseEnPageForces miseEnPage = new MiseEnPageForces();
+        miseEnPage.initialiser(graphe, xs, ys, 800, 600);
+        for (int i = 0; i < 10; i++) {
+            miseEnPage.iterer(graphe, xs, ys);
+        }
+        for (int i = 0; i < taille; i++) {
+            assertTrue(Float.isFinite(xs[i]) && Float.isFinite(ys[i]));
+        }
+    }
+}
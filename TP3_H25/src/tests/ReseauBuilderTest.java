@@ -0,0 +1,126 @@
+package tests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reseau.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReseauBuilderTest {
+
+    @TempDir
+    Path dossier;
+
+    private String fragment(String nom, String contenu) throws IOException {
+        Path fichier = dossier.resolve(nom);
+        Files.writeString(fichier, "{ \"utilisateurs\": [" + contenu + "] }");
+        return fichier.toString();
+    }
+
+    private static String utilisateur(String username, String... abonnements) {
+        StringJoiner liste = new StringJoiner("\", \"", "[\"", "\"]");
+        liste.setEmptyValue("[]");
+        for (String ab : abonnements) {
+            liste.add(ab);
+        }
+        return "{ \"username\": \"" + username + "\", \"password\": \"MotDePasse12345\", \"abonnements\": " + liste + " }";
+    }
+
+    private List<String> troisFragments() throws IOException {
+        return List.of(
+                fragment("nord.json", utilisateur("alice", "bob", "eve") + "," + utilisateur("bob", "alice")),
+                fragment("sud.json", utilisateur("clara", "alice") + "," + utilisateur("david")),
+                fragment("est.json", utilisateur("eve", "david", "clara")));
+    }
+
+    private static Map<String, Set<String>> structure(CivixNet reseau) {
+        Map<String, Set<String>> resultat = new TreeMap<>();
+        for (Utilisateur u : reseau.utilisateurs()) {
+            Set<String> noms = new TreeSet<>();
+            for (Utilisateur ab : reseau.abonnementsDe(u)) {
+                noms.add(ab.getUsername());
+            }
+            resultat.put(u.getUsername(), noms);
+        }
+        return resultat;
+    }
+
+    @Test
+    void testChargerFragments() throws Exception {
+        CivixNet reseau = ReseauBuilder.chargerFragments(troisFragments());
+
+        assertEquals(5, reseau.nombreUtilisateurs());
+        Utilisateur alice = reseau.obtenirUtilisateurAPartirDuUsername("alice");
+        Utilisateur bob = reseau.obtenirUtilisateurAPartirDuUsername("bob");
+        Utilisateur eve = reseau.obtenirUtilisateurAPartirDuUsername("eve");
+        Utilisateur david = reseau.obtenirUtilisateurAPartirDuUsername("david");
+
+        assertTrue(reseau.abonnementMutuel(alice, bob));
+        assertEquals(Set.of(bob, eve), reseau.abonnementsDe(alice));   // Abonnement vers un autre fragment
+        assertTrue(reseau.abonnementsDe(eve).contains(david));
+        assertTrue(reseau.abonnementsDe(david).isEmpty());
+    }
+
+    @Test
+    void testChargerFragmentsEquivalentAUnSeulFichier() throws Exception {
+        String unique = fragment("unique.json", String.join(",",
+                utilisateur("alice", "bob", "eve"), utilisateur("bob", "alice"),
+                utilisateur("clara", "alice"), utilisateur("david"), utilisateur("eve", "david", "clara")));
+
+        CivixNet attendu = ReseauBuilder.chargerDepuisJSON(unique);
+        CivixNet obtenu = ReseauBuilder.chargerFragments(troisFragments(), new StockageCarte());
+        assertEquals(structure(attendu), structure(obtenu));
+    }
+
+    @Test
+    void testFragmentsIgnorentLaCasse() throws Exception {
+        List<String> chemins = List.of(
+                fragment("a.json", utilisateur("Alice", "BOB")),
+                fragment("b.json", utilisateur("bob", "alice") + "," + utilisateur("ALICE")));
+
+        CivixNet reseau = ReseauBuilder.chargerFragments(chemins, new StockageCarte());
+        assertEquals(2, reseau.nombreUtilisateurs());   // La seconde définition d'Alice est ignorée
+        Utilisateur alice = reseau.obtenirUtilisateurAPartirDuUsername("Alice");
+        Utilisateur bob = reseau.obtenirUtilisateurAPartirDuUsername("bob");
+        assertTrue(reseau.abonnementMutuel(alice, bob));
+
+        ReseauPartitionne partitionne = ReseauBuilder.chargerFragmentsPartitionnes(chemins, 2);
+        assertTrue(partitionne.abonnementMutuel(partitionne.obtenirUtilisateurAPartirDuUsername("Alice"),
+                partitionne.obtenirUtilisateurAPartirDuUsername("bob")));
+    }
+
+    @Test
+    void testUtilisateurDefiniDansAucunFragment() throws IOException {
+        List<String> chemins = List.of(fragment("a.json", utilisateur("alice", "fantome")));
+        assertThrows(RuntimeException.class, () -> ReseauBuilder.chargerFragments(chemins));
+    }
+
+    @Test
+    void testFragmentIntrouvable() {
+        List<String> chemins = List.of(dossier.resolve("absent.json").toString());
+        assertThrows(IOException.class, () -> ReseauBuilder.chargerFragments(chemins));
+    }
+
+    @Test
+    void testChargerFragmentsPartitionnes() throws Exception {
+        ReseauPartitionne reseau = ReseauBuilder.chargerFragmentsPartitionnes(troisFragments(), 3);
+        assertEquals(3, reseau.nombrePartitions());
+
+        Utilisateur alice = reseau.obtenirUtilisateurAPartirDuUsername("alice");
+        Utilisateur bob = reseau.obtenirUtilisateurAPartirDuUsername("bob");
+        Utilisateur eve = reseau.obtenirUtilisateurAPartirDuUsername("eve");
+        assertTrue(reseau.abonnementMutuel(alice, bob));
+        assertFalse(reseau.abonnementMutuel(alice, eve));
+        assertEquals(Set.of(bob, eve), reseau.abonnementsDe(alice));
+
+        // Chaque utilisateur appartient à exactement une partition
+        List<Integer> proprietaires = reseau.interrogerEnParallele(
+                (indice, p) -> (int) p.utilisateurs().stream().filter(u -> reseau.possede(indice, u)).count());
+        assertEquals(5, proprietaires.stream().mapToInt(Integer::intValue).sum());
+    }
+}
@@ -0,0 +1,237 @@
+package tests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reseau.CivixNet;
+import reseau.Utilisateur;
+import service.ClientRequetes;
+import service.Protocole;
+import service.ServeurRequetes;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServeurRequetesTest {
+
+    private static final long DELAI = 10;  // Secondes
+
+    private ServeurRequetes serveur;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        CivixNet reseau = new CivixNet();
+        reseau.ajouterUtilisateur("Alice", "MotDePasse12345");
+        reseau.ajouterUtilisateur("Bob", "SecurePass45678");
+        reseau.ajouterUtilisateur("Clara", "TestPass78901");
+
+        Utilisateur alice = reseau.obtenirUtilisateurAPartirDuUsername("Alice");
+        Utilisateur bob = reseau.obtenirUtilisateurAPartirDuUsername("Bob");
+        Utilisateur clara = reseau.obtenirUtilisateurAPartirDuUsername("Clara");
+        reseau.ajouterAbonnement(alice, bob);
+        reseau.ajouterAbonnement(bob, alice);
+        reseau.ajouterAbonnement(alice, clara);
+
+        serveur = new ServeurRequetes(reseau.figer(), 0);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        serveur.close();
+    }
+
+    @Test
+    void testChercher() throws Exception {
+        try (ClientRequetes client = new ClientRequetes(serveur.getPort())) {
+            assertTrue(client.chercher("Alice").get(DELAI, TimeUnit.SECONDS));
+            assertFalse(client.chercher("Zoe").get(DELAI, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testAbonnementMutuel() throws Exception {
+        try (ClientRequetes client = new ClientRequetes(serveur.getPort())) {
+            assertTrue(client.abonnementMutuel("Alice", "Bob").get(DELAI, TimeUnit.SECONDS));
+            assertFalse(client.abonnementMutuel("Alice", "Clara").get(DELAI, TimeUnit.SECONDS));
+            assertFalse(client.abonnementMutuel("Alice", "Zoe").get(DELAI, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testRequetesEnRafale() throws Exception {
+        try (ClientRequetes client = new ClientRequetes(serveur.getPort())) {
+            List<CompletableFuture<Boolean>> reponses = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                reponses.add(i % 2 == 0 ? client.chercher(i % 4 == 0 ? "Bob" : "Zoe") : client.abonnementMutuel("Bob", "Alice"));
+            }
+            for (int i = 0; i < reponses.size(); i++) {
+                assertEquals(i % 4 != 2, reponses.get(i).get(DELAI, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    void testClientsConcurrents() throws Exception {
+        ExecutorService executeur = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> resultats = new ArrayList<>();
+            for (int c = 0; c < 50; c++) {
+                resultats.add(executeur.submit(() -> {
+                    try (ClientRequetes client = new ClientRequetes(serveur.getPort())) {
+                        List<CompletableFuture<Boolean>> reponses = new ArrayList<>();
+                        for (int i = 0; i < 200; i++) {
+                            reponses.add(client.abonnementMutuel("Alice", i % 2 == 0 ? "Bob" : "Clara"));
+                        }
+                        int vrais = 0;
+                        for (CompletableFuture<Boolean> reponse : reponses) {
+                            if (reponse.get(DELAI, TimeUnit.SECONDS)) vrais++;
+                        }
+                        return vrais;
+                    }
+                }));
+            }
+            for (Future<Integer> resultat : resultats) {
+                assertEquals(100, resultat.get(DELAI, TimeUnit.SECONDS));
+            }
+        } finally {
+            executeur.shutdownNow();
+        }
+    }
+
+    @Test
+    void testOperationInconnue() throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), serveur.getPort())) {
+            socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(DELAI));
+            DataOutputStream sortie = new DataOutputStream(socket.getOutputStream());
+            sortie.writeInt(5);
+            sortie.writeByte(42);  // Opération inexistante
+            sortie.writeInt(7);
+            sortie.flush();
+
+            DataInputStream entree = new DataInputStream(socket.getInputStream());
+            assertEquals(6, entree.readInt());
+            assertEquals(7, entree.readInt());
+            assertEquals(Protocole.ERREUR, entree.readByte());
+        }
+    }
+
+    @Test
+    void testTramesTropCourtes() throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), serveur.getPort())) {
+            socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(DELAI));
+            DataOutputStream sortie = new DataOutputStream(socket.getOutputStream());
+            for (int taille = 1; taille <= 4; taille++) {
+                sortie.writeInt(taille);  // Opération seule, puis identifiant tronqué
+                sortie.writeByte(Protocole.CHERCHER);
+                sortie.write(new byte[taille - 1]);
+            }
+            sortie.writeInt(6);  // Identifiant complet, mais argument tronqué
+            sortie.writeByte(Protocole.CHERCHER);
+            sortie.writeInt(9);
+            sortie.writeByte(0);
+            ecrireChercher(sortie, 10, "Alice");  // La connexion reste utilisable
+            sortie.flush();
+
+            DataInputStream entree = new DataInputStream(socket.getInputStream());
+            for (int taille = 1; taille <= 4; taille++) {
+                assertEquals(6, entree.readInt());
+                assertEquals(Protocole.IDENTIFIANT_INCONNU, entree.readInt());
+                assertEquals(Protocole.ERREUR, entree.readByte());
+                entree.readByte();
+            }
+            assertEquals(6, entree.readInt());
+            assertEquals(9, entree.readInt());
+            assertEquals(Protocole.ERREUR, entree.readByte());
+            entree.readByte();
+            assertEquals(6, entree.readInt());
+            assertEquals(10, entree.readInt());
+            assertEquals(Protocole.SUCCES, entree.readByte());
+            assertEquals(1, entree.readByte());
+        }
+    }
+
+    /**
+     * Écrit une trame de requête {@link Protocole#CHERCHER}.
+     */
+    private static void ecrireChercher(DataOutputStream sortie, int identifiant, String username) throws IOException {
+        byte[] nom = username.getBytes(StandardCharsets.UTF_8);
+        sortie.writeInt(1 + 4 + 2 + nom.length);
+        sortie.writeByte(Protocole.CHERCHER);
+        sortie.writeInt(identifiant);
+        sortie.writeUTF(username);
+    }
+
+    @Test
+    void testReponsesApresFermetureDeLEnvoi() throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), serveur.getPort())) {
+            socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(DELAI));
+            DataOutputStream sortie = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            for (int i = 0; i < 2000; i++) {
+                ecrireChercher(sortie, i, i % 2 == 0 ? "Alice" : "Zoe");
+            }
+            sortie.flush();
+            socket.shutdownOutput();  // Le serveur voit la fin du flux avant d'avoir répondu à tout le lot
+
+            DataInputStream entree = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            for (int i = 0; i < 2000; i++) {
+                assertEquals(6, entree.readInt());
+                assertEquals(i, entree.readInt());
+                assertEquals(Protocole.SUCCES, entree.readByte());
+                assertEquals(i % 2 == 0 ? 1 : 0, entree.readByte());
+            }
+            assertEquals(-1, entree.read());  // Connexion fermée après la dernière réponse
+        }
+    }
+
+    @Test
+    void testCapacitesReduites() throws Exception {
+        CivixNet reseau = new CivixNet();
+        reseau.ajouterUtilisateur("Alice", "MotDePasse12345");
+        // Deux connexions servies à la fois, files de quelques places seulement
+        try (ServeurRequetes petit = new ServeurRequetes(reseau.figer(), 0, 2, 8, 4)) {
+            ExecutorService executeur = Executors.newFixedThreadPool(5);
+            try {
+                List<Future<Integer>> resultats = new ArrayList<>();
+                for (int c = 0; c < 5; c++) {
+                    resultats.add(executeur.submit(() -> {
+                        try (ClientRequetes client = new ClientRequetes(petit.getPort(), 16)) {
+                            List<CompletableFuture<Boolean>> reponses = new ArrayList<>();
+                            for (int i = 0; i < 500; i++) {
+                                reponses.add(client.chercher(i % 2 == 0 ? "Alice" : "Zoe"));
+                            }
+                            int vrais = 0;
+                            for (CompletableFuture<Boolean> reponse : reponses) {
+                                if (reponse.get(DELAI, TimeUnit.SECONDS)) vrais++;
+                            }
+                            return vrais;
+                        }
+                    }));
+                }
+                for (Future<Integer> resultat : resultats) {
+                    assertEquals(250, resultat.get(DELAI, TimeUnit.SECONDS));
+                }
+            } finally {
+                executeur.shutdownNow();
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ServeurRequetes(reseau, 0, 1, 0, 1));
+    }
+
+    @Test
+    void testFermetureDuServeur() throws Exception {
+        ClientRequetes client = new ClientRequetes(serveur.getPort());
+        assertTrue(client.chercher("Clara").get(DELAI, TimeUnit.SECONDS));
+        serveur.close();
+
+        CompletableFuture<Boolean> reponse = client.chercher("Clara");
+        assertThrows(ExecutionException.class, () -> reponse.get(DELAI, TimeUnit.SECONDS));
+        client.close();
+    }
+}
@@ -0,0 +1,12 @@
+package tests;
+
+import reseau.StockageCarte;
+import reseau.StockageGraphe;
+
+class StockageCarteTest extends StockageGrapheConformiteTest {
+
+    @Override
+    protected StockageGraphe nouveauStockage() {
+        return new StockageCarte();
+    }
+}
@@ -0,0 +1,23 @@
+package tests;
+
+import reseau.CivixNet;
+import reseau.StockageGraphe;
+import reseau.StockageTableaux;
+
+class StockageFigeTest extends StockageGrapheConformiteTest {
+
+    @Override
+    protected StockageGraphe nouveauStockage() {
+        return new StockageTableaux();
+    }
+
+    @Override
+    protected CivixNet preparer(CivixNet rempli) {
+        return rempli.figer();
+    }
+
+    @Override
+    protected boolean modifiable() {
+        return false;
+    }
+}
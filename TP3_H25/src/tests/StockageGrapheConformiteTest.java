@@ -0,0 +1,208 @@
+package tests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reseau.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Suite de conformité commune à tous les {@link StockageGraphe}.
+ * Chaque implémentation est testée par une sous-classe qui fournit le stockage.
+ */
+abstract class StockageGrapheConformiteTest {
+
+    private CivixNet reseau;
+    private Utilisateur alice, bob, clara, david;
+
+    /**
+     * Retourne un stockage vide et modifiable, utilisé pour remplir le réseau de test.
+     */
+    protected abstract StockageGraphe nouveauStockage();
+
+    /**
+     * Retourne le réseau à tester à partir du réseau rempli (par défaut, le réseau lui-même).
+     */
+    protected CivixNet preparer(CivixNet rempli) {
+        return rempli;
+    }
+
+    /**
+     * Indique si le stockage testé accepte les modifications.
+     */
+    protected boolean modifiable() {
+        return true;
+    }
+
+    @BeforeEach
+    void setUp() {
+        CivixNet rempli = new CivixNet(nouveauStockage());
+        rempli.ajouterUtilisateur("Alice", "MotDePasse12345");
+        rempli.ajouterUtilisateur("Bob", "SecurePass45678");
+        rempli.ajouterUtilisateur("Clara", "TestPass78901");
+        rempli.ajouterUtilisateur("David", "AlphaPass99999");
+
+        Utilisateur a = rempli.obtenirUtilisateurAPartirDuUsername("Alice");
+        Utilisateur b = rempli.obtenirUtilisateurAPartirDuUsername("Bob");
+        Utilisateur c = rempli.obtenirUtilisateurAPartirDuUsername("Clara");
+        Utilisateur d = rempli.obtenirUtilisateurAPartirDuUsername("David");
+        rempli.ajouterAbonnement(a, b);   // Alice <-> Bob
+        rempli.ajouterAbonnement(b, a);
+        rempli.ajouterAbonnement(b, c);   // Bob -> Clara -> David
+        rempli.ajouterAbonnement(c, d);
+
+        reseau = preparer(rempli);
+        alice = reseau.obtenirUtilisateurAPartirDuUsername("Alice");
+        bob = reseau.obtenirUtilisateurAPartirDuUsername("Bob");
+        clara = reseau.obtenirUtilisateurAPartirDuUsername("Clara");
+        david = reseau.obtenirUtilisateurAPartirDuUsername("David");
+    }
+
+    @Test
+    void testRegistre() {
+        assertEquals(4, reseau.nombreUtilisateurs());
+        List<String> noms = reseau.utilisateurs().stream().map(Utilisateur::getUsername).sorted().toList();
+        assertEquals(List.of("Alice", "Bob", "Clara", "David"), noms);
+        assertEquals("Bob", bob.getUsername());
+    }
+
+    @Test
+    void testRechercheSensibleALaCasse() {
+        assertThrows(RuntimeException.class, () -> reseau.obtenirUtilisateurAPartirDuUsername("alice"));
+        assertThrows(RuntimeException.class, () -> reseau.obtenirUtilisateurAPartirDuUsername("Inconnu"));
+    }
+
+    @Test
+    void testAbonnements() {
+        assertEquals(Set.of(bob), reseau.abonnementsDe(alice));
+        assertEquals(Set.of(alice, clara), reseau.abonnementsDe(bob));
+        assertTrue(reseau.abonnementsDe(david).isEmpty());
+        assertTrue(reseau.abonnementsDe(bob).contains(clara));
+        assertFalse(reseau.abonnementsDe(bob).contains(david));
+        assertThrows(UnsupportedOperationException.class, () -> reseau.abonnementsDe(alice).clear());
+    }
+
+    @Test
+    void testUtilisateurInconnu() {
+        Utilisateur inconnu = new Utilisateur("Inconnu", "MotDePasse12345");
+        assertTrue(reseau.abonnementsDe(inconnu).isEmpty());
+        assertFalse(reseau.abonnementMutuel(alice, inconnu));
+        assertFalse(reseau.getUtilisateurs().containsKey(inconnu));
+        assertNull(reseau.getUtilisateurs().get(inconnu));
+    }
+
+    @Test
+    void testAbonnementMutuel() {
+        assertTrue(reseau.abonnementMutuel(alice, bob));
+        assertTrue(reseau.abonnementMutuel(bob, alice));
+        assertFalse(reseau.abonnementMutuel(bob, clara));
+    }
+
+    @Test
+    void testAbonnesMutuelsEtCommuns() {
+        assertEquals(Set.of(bob), reseau.abonnesMutuels(alice));
+        assertEquals(Set.of(alice), reseau.abonnesMutuels(bob));
+        assertTrue(reseau.abonnesMutuels(clara).isEmpty());
+
+        assertTrue(reseau.abonnementsCommuns(alice, bob).isEmpty());
+        assertEquals(Set.of(bob), reseau.abonnementsCommuns(alice, alice));
+    }
+
+    @Test
+    void testRecommandations() {
+        // Alice suit Bob, qui suit Alice et Clara : seule Clara est recommandée
+        assertEquals(Set.of(clara), reseau.recommandations(alice));
+        assertEquals(Set.of(david), reseau.recommandations(bob));
+        assertTrue(reseau.recommandations(david).isEmpty());
+    }
+
+    @Test
+    void testPropagation() {
+        List<String> noms = reseau.propagationFausseInformationRecursive("Bob").stream()
+                .map(Utilisateur::getUsername).toList();
+        assertEquals(List.of("David", "Clara", "Bob", "Alice"), noms);
+
+        noms = reseau.propagationFausseInformationRecursive("Alice").stream()
+                .map(Utilisateur::getUsername).toList();
+        assertEquals(List.of("Clara", "Bob", "Alice"), noms);
+    }
+
+    @Test
+    void testVueCarte() {
+        Map<Utilisateur, Set<Utilisateur>> carte = reseau.getUtilisateurs();
+        assertEquals(4, carte.size());
+        assertTrue(carte.containsKey(alice));
+        assertEquals(Set.of(bob), carte.get(alice));
+
+        int arcs = 0;
+        for (Map.Entry<Utilisateur, Set<Utilisateur>> entree : carte.entrySet()) {
+            arcs += entree.getValue().size();
+        }
+        assertEquals(4, arcs);
+    }
+
+    @Test
+    void testGrapheCompact() {
+        GrapheCompact graphe = GrapheCompact.depuis(reseau);
+        assertEquals(4, graphe.nombreSommets());
+        assertEquals(4, graphe.nombreArcs());
+        assertTrue(graphe.suit(graphe.indexDe(clara), graphe.indexDe(david)));
+
+        int[] composantes = Communautes.composantesFortementConnexes(graphe);
+        assertEquals(composantes[graphe.indexDe(alice)], composantes[graphe.indexDe(bob)]);
+        assertNotEquals(composantes[graphe.indexDe(alice)], composantes[graphe.indexDe(clara)]);
+    }
+
+    @Test
+    void testModifications() {
+        if (!modifiable()) {
+            assertThrows(UnsupportedOperationException.class, () -> reseau.ajouterUtilisateur("Eve", "MotDePasse12345"));
+            assertThrows(UnsupportedOperationException.class, () -> reseau.ajouterAbonnement(david, alice));
+            assertThrows(UnsupportedOperationException.class, () -> reseau.retirerAbonnement(alice, bob));
+            return;
+        }
+
+        reseau.ajouterAbonnements(david, List.of(alice, bob));
+        assertTrue(reseau.abonnementsDe(david).containsAll(List.of(alice, bob)));
+        reseau.ajouterAbonnement(david, alice);  // Doublon ignoré
+        assertEquals(2, reseau.abonnementsDe(david).size());
+
+        reseau.retirerAbonnements(david, List.of(alice));
+        assertEquals(Set.of(bob), reseau.abonnementsDe(david));
+        reseau.retirerAbonnement(alice, bob);
+        assertFalse(reseau.abonnementMutuel(alice, bob));
+    }
+
+    @Test
+    void testAbonnementVersUtilisateurNonEnregistre() {
+        if (!modifiable()) {
+            return;
+        }
+        Utilisateur inconnu = new Utilisateur("Inconnu", "MotDePasse12345");
+        reseau.ajouterAbonnement(alice, inconnu);
+        reseau.ajouterAbonnement(inconnu, alice);
+        assertEquals(Set.of(bob), reseau.abonnementsDe(alice));
+        assertEquals(4, reseau.nombreUtilisateurs());
+    }
+
+    @Test
+    void testReajoutReinitialiseLesAbonnements() {
+        if (!modifiable()) {
+            return;
+        }
+        reseau.ajouterUtilisateur("Bob", "AutrePass45678");
+        assertEquals(4, reseau.nombreUtilisateurs());
+        assertTrue(reseau.abonnementsDe(bob).isEmpty());
+        assertSame(bob, reseau.obtenirUtilisateurAPartirDuUsername("Bob"));
+    }
+
+    @Test
+    void testFiger() {
+        CivixNet fige = reseau.figer();
+        assertEquals(4, fige.nombreUtilisateurs());
+        assertTrue(fige.abonnementMutuel(alice, bob));
+        assertThrows(UnsupportedOperationException.class, () -> fige.ajouterAbonnement(david, alice));
+    }
+}
@@ -0,0 +1,13 @@
+package tests;
+
+import reseau.StockageGraphe;
+import reseau.StockageTableaux;
+
+class StockageTableauxTest extends StockageGrapheConformiteTest {
+
+    @Override
+    protected StockageGraphe nouveauStockage() {
+        // Seuil minimal : tout ensemble de plus d'un élément passe en bitmap
+        return new StockageTableaux(1);
+    }
+}